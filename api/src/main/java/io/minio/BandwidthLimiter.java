@@ -0,0 +1,164 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okio.Buffer;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.Sink;
+import okio.Source;
+
+
+/**
+ * Token bucket limiting bandwidth of data transferred through it.
+ * <p>
+ * Tokens of bytes are added at the configured rate up to one second worth of bytes. A transfer takes tokens for bytes
+ * it writes or reads, and waits when tokens are exhausted. The same limiter may be set to several clients to share the
+ * bandwidth among them. The rate can be changed at any time and takes effect on next transfer.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code BandwidthLimiter limiter = new BandwidthLimiter(50L * 1024 * 1024);
+ * minioClient.setUploadLimiter(limiter);
+ * // later on
+ * limiter.setBytesPerSecond(200L * 1024 * 1024); }</pre>
+ */
+public class BandwidthLimiter {
+  private long bytesPerSecond;
+  // available bytes which may be negative when bytes are taken ahead of the rate.
+  private double tokens;
+  private long lastRefillTime;
+
+
+  /**
+   * Creates bandwidth limiter allowing given bytes per second.
+   *
+   * @param bytesPerSecond  Allowed bytes per second.
+   */
+  public BandwidthLimiter(long bytesPerSecond) {
+    checkRate(bytesPerSecond);
+    this.bytesPerSecond = bytesPerSecond;
+    this.tokens = bytesPerSecond;
+    this.lastRefillTime = System.nanoTime();
+  }
+
+
+  /**
+   * Returns allowed bytes per second.
+   */
+  public synchronized long bytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+
+  /**
+   * Sets allowed bytes per second.
+   *
+   * @param bytesPerSecond  Allowed bytes per second.
+   */
+  public synchronized void setBytesPerSecond(long bytesPerSecond) {
+    checkRate(bytesPerSecond);
+    refill(System.nanoTime());
+    this.bytesPerSecond = bytesPerSecond;
+    this.tokens = Math.min(this.tokens, bytesPerSecond);
+  }
+
+
+  /**
+   * Takes tokens for given bytes and waits until the tokens are covered by the rate.
+   */
+  void acquire(long bytes) throws InterruptedIOException {
+    long waitNanos = reserve(bytes);
+    if (waitNanos <= 0) {
+      return;
+    }
+
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for bandwidth");
+    }
+  }
+
+
+  /**
+   * Returns sink taking tokens for bytes written to given sink.
+   */
+  Sink sink(Sink sink) {
+    return new ForwardingSink(sink) {
+      @Override
+      public void write(Buffer source, long byteCount) throws IOException {
+        acquire(byteCount);
+        super.write(source, byteCount);
+      }
+    };
+  }
+
+
+  /**
+   * Returns source taking tokens for bytes read from given source.
+   */
+  Source source(Source source) {
+    return new ForwardingSource(source) {
+      @Override
+      public long read(Buffer sink, long byteCount) throws IOException {
+        long n = super.read(sink, byteCount);
+        if (n > 0) {
+          acquire(n);
+        }
+        return n;
+      }
+    };
+  }
+
+
+  /**
+   * Takes tokens for given bytes and returns nanoseconds to wait until the tokens are covered by the rate.
+   */
+  private synchronized long reserve(long bytes) {
+    long now = System.nanoTime();
+    refill(now);
+    tokens -= bytes;
+    if (tokens >= 0) {
+      return 0;
+    }
+
+    return (long) (-tokens * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+  }
+
+
+  /**
+   * Adds tokens for time passed since last refill.
+   */
+  private void refill(long now) {
+    double elapsedSeconds = (double) (now - lastRefillTime) / TimeUnit.SECONDS.toNanos(1);
+    tokens = Math.min(tokens + elapsedSeconds * bytesPerSecond, bytesPerSecond);
+    lastRefillTime = now;
+  }
+
+
+  private static void checkRate(long bytesPerSecond) {
+    if (bytesPerSecond <= 0) {
+      throw new IllegalArgumentException("bytes per second must be greater than zero");
+    }
+  }
+}
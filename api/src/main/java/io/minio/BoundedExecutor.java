@@ -0,0 +1,179 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.common.base.Throwables;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+
+
+/**
+ * Runs tasks of a single operation on shared worker threads with at most given number of tasks running at a time.
+ * Submitting a task waits until a running task is finished if the limit is reached.
+ */
+class BoundedExecutor {
+  // worker threads are shared by all operations and go away when idle.
+  static final ExecutorService WORKERS = Executors.newCachedThreadPool(new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "minio-worker-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+  private final int parallelism;
+  private final Semaphore permits;
+  private volatile boolean failed = false;
+
+
+  /**
+   * Creates bounded executor running at most given number of tasks at a time.
+   */
+  BoundedExecutor(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+
+    this.parallelism = parallelism;
+    this.permits = new Semaphore(parallelism);
+  }
+
+
+  /**
+   * Submits given task and returns its future. Waits until the task can be run.
+   */
+  <T> Future<T> submit(final Callable<T> task) throws InterruptedIOException {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting to submit task");
+    }
+
+    FutureTask<T> future = new FutureTask<T>(task) {
+      @Override
+      protected void done() {
+        if (!isCancelled()) {
+          try {
+            get();
+          } catch (InterruptedException | ExecutionException e) {
+            failed = true;
+          }
+        }
+        permits.release();
+      }
+    };
+
+    try {
+      WORKERS.execute(future);
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+
+    return future;
+  }
+
+
+  /**
+   * Waits until all submitted tasks are finished.
+   */
+  void awaitTasks() throws InterruptedIOException {
+    try {
+      permits.acquire(parallelism);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for tasks");
+    }
+    permits.release(parallelism);
+  }
+
+
+  /**
+   * Returns true if any submitted task has failed. Callers stop submitting further tasks of the operation on failure.
+   */
+  boolean failed() {
+    return failed;
+  }
+
+
+  /**
+   * Waits for given future and returns its result. Exception thrown by the task is rethrown as is.
+   */
+  static <T> T get(Future<T> future)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for task");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfInstanceOf(cause, InvalidBucketNameException.class);
+      Throwables.throwIfInstanceOf(cause, NoSuchAlgorithmException.class);
+      Throwables.throwIfInstanceOf(cause, InsufficientDataException.class);
+      Throwables.throwIfInstanceOf(cause, IOException.class);
+      Throwables.throwIfInstanceOf(cause, InvalidKeyException.class);
+      Throwables.throwIfInstanceOf(cause, NoResponseException.class);
+      Throwables.throwIfInstanceOf(cause, XmlPullParserException.class);
+      Throwables.throwIfInstanceOf(cause, ErrorResponseException.class);
+      Throwables.throwIfInstanceOf(cause, InternalException.class);
+      Throwables.throwIfInstanceOf(cause, InvalidArgumentException.class);
+      Throwables.throwIfInstanceOf(cause, InvalidResponseException.class);
+      Throwables.throwIfUnchecked(cause);
+      throw new InternalException("unexpected error " + cause + " in task");
+    }
+  }
+
+
+  /**
+   * Cancels given futures which are not done yet.
+   */
+  static void cancel(Iterable<? extends Future<?>> futures) {
+    for (Future<?> future : futures) {
+      future.cancel(true);
+    }
+  }
+}
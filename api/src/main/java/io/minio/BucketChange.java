@@ -0,0 +1,104 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Date;
+
+
+/**
+ * Change of an object found by diffing a bucket against its previous snapshot.
+ */
+public class BucketChange {
+  /**
+   * Type of change.
+   */
+  public enum Type {
+    /**
+     * Object not in previous snapshot.
+     */
+    ADDED,
+    /**
+     * Object whose size, ETag or modified time differs from previous snapshot.
+     */
+    CHANGED,
+    /**
+     * Object in previous snapshot but not in the bucket.
+     */
+    REMOVED
+  }
+
+  private final Type type;
+  private final String objectName;
+  private final long size;
+  private final String etag;
+  private final long lastModified;
+
+
+  BucketChange(Type type, String objectName, long size, String etag, long lastModified) {
+    this.type = type;
+    this.objectName = objectName;
+    this.size = size;
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+
+  /**
+   * Returns type of change.
+   */
+  public Type type() {
+    return type;
+  }
+
+
+  /**
+   * Returns object name.
+   */
+  public String objectName() {
+    return objectName;
+  }
+
+
+  /**
+   * Returns object size.  Size in previous snapshot is returned for removed object.
+   */
+  public long size() {
+    return size;
+  }
+
+
+  /**
+   * Returns ETag.  ETag in previous snapshot is returned for removed object.
+   */
+  public String etag() {
+    return etag;
+  }
+
+
+  /**
+   * Returns last modified time.  Time in previous snapshot is returned for removed object.
+   */
+  public Date lastModified() {
+    return new Date(lastModified);
+  }
+
+
+  @Override
+  public String toString() {
+    return type + " " + objectName;
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import io.minio.notification.NotificationInfo;
+import okhttp3.ResponseBody;
+
+
+/**
+ * Subscription to bucket notifications which keeps listening until closed.
+ * <p>
+ * A reader thread decodes notification records as they arrive and puts them to a bounded queue, from where worker
+ * threads deliver them to the listener. A slow listener never stalls the stream; when the queue is full, newly
+ * received records are dropped and counted by {@link #droppedCount()}. When the stream ends or fails, the subscription
+ * reconnects with exponential backoff from one second up to one minute.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code BucketNotificationSubscriber subscriber = minioClient.subscribeBucketNotification(
+ *     "my-bucketname", "", "", new String[] {"s3:ObjectCreated:*"}, listener, 1000, 4);
+ * ...
+ * subscriber.close(); }</pre>
+ */
+public class BucketNotificationSubscriber implements Closeable {
+  private static final Logger LOGGER = Logger.getLogger(BucketNotificationSubscriber.class.getName());
+  private static final long INITIAL_RECONNECT_DELAY = 1000;
+  private static final long MAX_RECONNECT_DELAY = 60 * 1000;
+
+  private final MinioClient client;
+  private final String bucketName;
+  private final String prefix;
+  private final String suffix;
+  private final String[] events;
+  private final BucketEventListener listener;
+  private final BlockingQueue<NotificationInfo> queue;
+  private final Thread reader;
+  private final List<Thread> workers = new ArrayList<>();
+
+  private final AtomicLong receivedCount = new AtomicLong();
+  private final AtomicLong deliveredCount = new AtomicLong();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong reconnectCount = new AtomicLong();
+
+  private volatile boolean closed = false;
+  private volatile ResponseBody body;
+
+
+  BucketNotificationSubscriber(MinioClient client, String bucketName, String prefix, String suffix, String[] events,
+                               BucketEventListener listener, int queueCapacity, int workerCount) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.events = events.clone();
+    this.listener = listener;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    this.reader = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          readNotifications();
+        }
+      }, "minio-notification-reader-" + bucketName);
+    this.reader.setDaemon(true);
+
+    for (int i = 1; i <= workerCount; i++) {
+      Thread worker = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            deliverNotifications();
+          }
+        }, "minio-notification-worker-" + bucketName + "-" + i);
+      worker.setDaemon(true);
+      workers.add(worker);
+    }
+  }
+
+
+  /**
+   * Starts reader and worker threads.
+   */
+  void start() {
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    reader.start();
+  }
+
+
+  /**
+   * Returns number of notification records received from the server.
+   */
+  public long receivedCount() {
+    return receivedCount.get();
+  }
+
+
+  /**
+   * Returns number of notification records delivered to the listener.
+   */
+  public long deliveredCount() {
+    return deliveredCount.get();
+  }
+
+
+  /**
+   * Returns number of notification records dropped as the queue was full.
+   */
+  public long droppedCount() {
+    return droppedCount.get();
+  }
+
+
+  /**
+   * Returns number of times the subscription reconnected to the server.
+   */
+  public long reconnectCount() {
+    return reconnectCount.get();
+  }
+
+
+  /**
+   * Returns number of notification records received but not yet taken by a worker.
+   */
+  public int lag() {
+    return queue.size();
+  }
+
+
+  /**
+   * Stops listening and delivering notifications. Records still in the queue are discarded.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    ResponseBody currentBody = body;
+    if (currentBody != null) {
+      // unblocks the reader waiting for data.
+      currentBody.close();
+    }
+    reader.interrupt();
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+  }
+
+
+  /**
+   * Reads notification stream and puts records to the queue, reconnecting on end of stream or error until closed.
+   */
+  private void readNotifications() {
+    long delay = INITIAL_RECONNECT_DELAY;
+    while (!closed) {
+      try {
+        HttpResponse response = client.executeListenBucketNotification(bucketName, prefix, suffix, events);
+        try (ResponseBody responseBody = response.body()) {
+          body = responseBody;
+          if (closed) {
+            break;
+          }
+
+          delay = INITIAL_RECONNECT_DELAY;
+          MappingIterator<NotificationInfo> iterator = MinioClient.notificationIterator(responseBody);
+          while (!closed && iterator.hasNextValue()) {
+            receivedCount.incrementAndGet();
+            if (!queue.offer(iterator.nextValue())) {
+              droppedCount.incrementAndGet();
+            }
+          }
+        } finally {
+          body = null;
+        }
+      } catch (Exception e) {
+        if (closed) {
+          break;
+        }
+        LOGGER.log(Level.WARNING, "bucket notification stream of " + bucketName + " failed", e);
+      }
+
+      if (closed) {
+        break;
+      }
+
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        break;
+      }
+      delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+      reconnectCount.incrementAndGet();
+    }
+  }
+
+
+  /**
+   * Takes records from the queue and delivers them to the listener until closed.
+   */
+  private void deliverNotifications() {
+    while (!closed) {
+      NotificationInfo info;
+      try {
+        info = queue.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+
+      try {
+        listener.updateEvent(info);
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.WARNING, "bucket notification listener of " + bucketName + " failed", e);
+      }
+      deliveredCount.incrementAndGet();
+    }
+  }
+}
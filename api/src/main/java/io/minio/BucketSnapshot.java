@@ -0,0 +1,291 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+import io.minio.messages.Item;
+
+
+/**
+ * Writes listing of a bucket to a snapshot file and diffs it against previous snapshot in constant memory.
+ * <p>
+ * Objects are listed in order of object name, so the listing is merge-joined with previous snapshot which is also in
+ * that order, while the new snapshot is written. Snapshot file is gzip compressed, and each object name is stored as
+ * length of prefix shared with previous object name followed by the rest. New snapshot replaces the file only when
+ * the listing is completed.
+ * </p>
+ */
+class BucketSnapshot {
+  // "MSN1"
+  private static final int MAGIC = 0x4d534e31;
+
+  private final MinioClient client;
+  private final String bucketName;
+  private final String prefix;
+
+
+  BucketSnapshot(MinioClient client, String bucketName, String prefix) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.prefix = (prefix == null) ? "" : prefix;
+  }
+
+
+  /**
+   * Lists the bucket, writes snapshot file and calls listener if given for changes against previous snapshot. Every
+   * object is added if previous snapshot is not given. Returns number of changes.
+   */
+  long run(Path previous, Path snapshot, BucketChangeListener listener)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    try (Reader reader = (previous == null) ? null : new Reader(previous);
+         Writer writer = new Writer(snapshot, bucketName, prefix)) {
+      if (reader != null && !(bucketName.equals(reader.bucketName) && prefix.equals(reader.prefix))) {
+        throw new InvalidArgumentException("previous snapshot is of bucket '" + reader.bucketName + "' and prefix '"
+                                           + reader.prefix + "'");
+      }
+
+      long count = 0;
+      Entry old = (reader == null) ? null : reader.next();
+      for (Result<Item> result : client.listObjects(bucketName, prefix, true)) {
+        Item item = result.get();
+        Entry entry = new Entry(item.objectName(), item.objectSize(), item.etag(), item.lastModified().getTime());
+        writer.write(entry);
+
+        if (reader == null) {
+          // without previous snapshot, every object is added.
+          if (listener != null) {
+            notify(listener, BucketChange.Type.ADDED, entry);
+          }
+          count++;
+          continue;
+        }
+
+        while (old != null && compare(old.objectName, entry.objectName) < 0) {
+          count += notify(listener, BucketChange.Type.REMOVED, old);
+          old = reader.next();
+        }
+
+        if (old != null && old.objectName.equals(entry.objectName)) {
+          if (old.size != entry.size || !old.etag.equals(entry.etag) || old.lastModified != entry.lastModified) {
+            count += notify(listener, BucketChange.Type.CHANGED, entry);
+          }
+          old = reader.next();
+        } else {
+          count += notify(listener, BucketChange.Type.ADDED, entry);
+        }
+      }
+
+      while (old != null) {
+        count += notify(listener, BucketChange.Type.REMOVED, old);
+        old = reader.next();
+      }
+
+      writer.commit();
+      return count;
+    }
+  }
+
+
+  private static int notify(BucketChangeListener listener, BucketChange.Type type, Entry entry) {
+    listener.changed(new BucketChange(type, entry.objectName, entry.size, entry.etag, entry.lastModified));
+    return 1;
+  }
+
+
+  /**
+   * Compares object names by code points, which is the order of objects listed.
+   */
+  static int compare(String a, String b) {
+    int i = 0;
+    int j = 0;
+    while (i < a.length() && j < b.length()) {
+      int ca = a.codePointAt(i);
+      int cb = b.codePointAt(j);
+      if (ca != cb) {
+        return Integer.compare(ca, cb);
+      }
+      i += Character.charCount(ca);
+      j += Character.charCount(cb);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  }
+
+
+  /**
+   * Object information stored in snapshot.
+   */
+  private static class Entry {
+    private final String objectName;
+    private final long size;
+    private final String etag;
+    private final long lastModified;
+
+    Entry(String objectName, long size, String etag, long lastModified) {
+      this.objectName = objectName;
+      this.size = size;
+      this.etag = etag;
+      this.lastModified = lastModified;
+    }
+  }
+
+
+  /**
+   * Writer of snapshot file to a temporary file which replaces the snapshot file on commit.
+   */
+  private static class Writer implements Closeable {
+    private final Path path;
+    private final Path tempPath;
+    private final DataOutputStream out;
+    private String lastName = "";
+    private boolean first = true;
+    private boolean committed = false;
+
+    Writer(Path path, String bucketName, String prefix) throws IOException {
+      this.path = path;
+      this.tempPath = path.resolveSibling(path.getFileName() + ".part");
+      this.out = new DataOutputStream(new BufferedOutputStream(
+          new GZIPOutputStream(Files.newOutputStream(tempPath), 65536), 65536));
+      out.writeInt(MAGIC);
+      out.writeUTF(bucketName);
+      out.writeUTF(prefix);
+    }
+
+    void write(Entry entry) throws IOException {
+      if (!first && compare(lastName, entry.objectName) >= 0) {
+        throw new IOException("objects are not listed in order; '" + entry.objectName + "' is listed after '"
+                              + lastName + "'");
+      }
+
+      int shared = 0;
+      int max = Math.min(lastName.length(), entry.objectName.length());
+      while (shared < max && lastName.charAt(shared) == entry.objectName.charAt(shared)) {
+        shared++;
+      }
+      if (shared > 0 && Character.isHighSurrogate(entry.objectName.charAt(shared - 1))) {
+        // do not split surrogate pair.
+        shared--;
+      }
+
+      out.writeBoolean(true);
+      out.writeShort(shared);
+      out.writeUTF(entry.objectName.substring(shared));
+      out.writeLong(entry.size);
+      out.writeUTF(entry.etag);
+      out.writeLong(entry.lastModified);
+      lastName = entry.objectName;
+      first = false;
+    }
+
+    void commit() throws IOException {
+      // end marker to detect truncated file.
+      out.writeBoolean(false);
+      out.close();
+      try {
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+      committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!committed) {
+        try {
+          out.close();
+        } finally {
+          Files.deleteIfExists(tempPath);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Reader of snapshot file.
+   */
+  private static class Reader implements Closeable {
+    private final DataInputStream in;
+    private final String bucketName;
+    private final String prefix;
+    private String lastName = "";
+
+    Reader(Path path) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(
+          new GZIPInputStream(Files.newInputStream(path), 65536), 65536));
+      try {
+        if (in.readInt() != MAGIC) {
+          throw new IOException("'" + path + "' is not a bucket snapshot");
+        }
+        this.bucketName = in.readUTF();
+        this.prefix = in.readUTF();
+      } catch (IOException e) {
+        in.close();
+        throw e;
+      }
+    }
+
+    /**
+     * Returns next entry or null at end of snapshot.
+     */
+    Entry next() throws IOException {
+      try {
+        if (!in.readBoolean()) {
+          return null;
+        }
+
+        int shared = in.readUnsignedShort();
+        String objectName = lastName.substring(0, shared) + in.readUTF();
+        lastName = objectName;
+        return new Entry(objectName, in.readLong(), in.readUTF(), in.readLong());
+      } catch (EOFException e) {
+        throw new IOException("bucket snapshot is truncated", e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+
+/**
+ * Ways to decide whether a local file differs from its object when mirroring a directory.
+ */
+public enum ChangeDetection {
+  /**
+   * File is changed if its size differs from object size.
+   */
+  SIZE,
+  /**
+   * File is changed if its size differs from object size or it is modified after the object was last modified.
+   */
+  MODIFIED_TIME,
+  /**
+   * File is changed if its ETag computed from its content differs from object ETag. As ETag of an object uploaded by
+   * multipart upload depends on its part sizes, such object is compared by {@link #MODIFIED_TIME} unless it has as
+   * many parts as {@link MinioClient#putObject(String, String, String)} makes.
+   */
+  ETAG
+}
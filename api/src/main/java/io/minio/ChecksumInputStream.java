@@ -0,0 +1,105 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Checksum;
+
+
+/**
+ * Input stream verifying checksum of data read from given stream against expected checksum upon end of stream.
+ */
+class ChecksumInputStream extends FilterInputStream {
+  private final Checksum checksum;
+  private final String expected;
+  private boolean verified = false;
+
+
+  /**
+   * Creates stream verifying base64 encoded CRC32C checksum of data read.
+   */
+  ChecksumInputStream(InputStream stream, String expected) {
+    super(stream);
+    this.checksum = Digest.newCrc32c();
+    this.expected = expected;
+  }
+
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+    if (b < 0) {
+      verify();
+    } else {
+      checksum.update(b);
+    }
+    return b;
+  }
+
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int n = super.read(b, off, len);
+    if (n < 0) {
+      verify();
+    } else {
+      checksum.update(b, off, n);
+    }
+    return n;
+  }
+
+
+  @Override
+  public long skip(long n) throws IOException {
+    // skipped data must be read to compute checksum.
+    if (n <= 0) {
+      return 0;
+    }
+
+    byte[] buf = new byte[(int) Math.min(n, 8192)];
+    long skipped = 0;
+    while (skipped < n) {
+      int read = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+      if (read < 0) {
+        break;
+      }
+      skipped += read;
+    }
+    return skipped;
+  }
+
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+
+  private void verify() throws IOException {
+    if (verified) {
+      return;
+    }
+
+    verified = true;
+    String actual = Digest.encodeCrc32c(checksum);
+    if (!actual.equals(expected)) {
+      throw new IOException("CRC32C checksum mismatch; expected " + expected + ", got " + actual);
+    }
+  }
+}
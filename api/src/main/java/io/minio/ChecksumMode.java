@@ -0,0 +1,34 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+
+/**
+ * Checksums sent with request bodies for the server to verify integrity of uploaded data.
+ */
+public enum ChecksumMode {
+  /**
+   * MD5 hash of request body is sent by Content-MD5 header.
+   */
+  MD5,
+  /**
+   * CRC32C checksum of request body is sent by x-amz-checksum-crc32c header, which is much cheaper to compute than MD5.
+   * Multipart upload declares CRC32C algorithm and each part is sent with its CRC32C checksum, except presigned
+   * multipart upload. Object downloaded as a whole is verified by its CRC32C checksum if the server returns one.
+   */
+  CRC32C
+}
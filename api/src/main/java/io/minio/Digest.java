@@ -19,12 +19,15 @@ package io.minio;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
+import java.util.zip.Checksum;
 
 import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Ints;
 
 import io.minio.errors.InsufficientDataException;
 import io.minio.errors.InternalException;
@@ -34,12 +37,48 @@ import io.minio.errors.InternalException;
  * Various global static functions used.
  */
 class Digest {
+  // java.util.zip.CRC32C of Java 9 or later, which is intrinsified by the JVM, else null.
+  private static final Class<?> CRC32C_CLASS = findClass("java.util.zip.CRC32C");
+
   /**
    * Private constructor.
    */
   private Digest() {}
 
 
+  private static Class<?> findClass(String name) {
+    try {
+      return Class.forName(name);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+
+  /**
+   * Returns new CRC32C checksum.  java.util.zip.CRC32C is used if available, else table driven implementation.
+   */
+  static Checksum newCrc32c() {
+    if (CRC32C_CLASS != null) {
+      try {
+        return (Checksum) CRC32C_CLASS.getConstructor().newInstance();
+      } catch (ReflectiveOperationException e) {
+        // fall back to table driven implementation.
+      }
+    }
+
+    return new Crc32c();
+  }
+
+
+  /**
+   * Returns base64 encoded big endian value of given CRC32C checksum as used by x-amz-checksum-crc32c header.
+   */
+  static String encodeCrc32c(Checksum checksum) {
+    return BaseEncoding.base64().encode(Ints.toByteArray((int) checksum.getValue()));
+  }
+
+
   /**
    * Returns SHA-256 hash of given string.
    */
@@ -54,7 +93,7 @@ class Digest {
   /**
    * Returns SHA-256 hash of given data and it's length.
    *
-   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream} or byte array.
+   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream}, {@link ByteBuffer} or byte array.
    * @param len   length of data to be read for hash calculation.
    */
   public static String sha256Hash(Object data, int len)
@@ -62,9 +101,11 @@ class Digest {
     MessageDigest sha256Digest = MessageDigest.getInstance("SHA-256");
 
     if (data instanceof BufferedInputStream || data instanceof RandomAccessFile) {
-      updateDigests(data, len, sha256Digest, null);
+      updateDigests(data, len, sha256Digest, null, null);
     } else if (data instanceof byte[]) {
       sha256Digest.update((byte[]) data, 0, len);
+    } else if (data instanceof ByteBuffer) {
+      updateDigests((ByteBuffer) data, len, sha256Digest, null, null);
     } else {
       throw new InternalException("Unknown data source to calculate sha256 hash. This should not happen, "
                                   + "please report this issue at https://github.com/minio/minio-java/issues");
@@ -77,7 +118,7 @@ class Digest {
   /**
    * Returns SHA-256 and MD5 hashes of given data and it's length.
    *
-   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream} or byte array.
+   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream}, {@link ByteBuffer} or byte array.
    * @param len   length of data to be read for hash calculation.
    */
   public static String[] sha256Md5Hashes(Object data, int len)
@@ -86,10 +127,12 @@ class Digest {
     MessageDigest md5Digest = MessageDigest.getInstance("MD5");
 
     if (data instanceof BufferedInputStream || data instanceof RandomAccessFile) {
-      updateDigests(data, len, sha256Digest, md5Digest);
+      updateDigests(data, len, sha256Digest, md5Digest, null);
     } else if (data instanceof byte[]) {
       sha256Digest.update((byte[]) data, 0, len);
       md5Digest.update((byte[]) data, 0, len);
+    } else if (data instanceof ByteBuffer) {
+      updateDigests((ByteBuffer) data, len, sha256Digest, md5Digest, null);
     } else {
       throw new InternalException("Unknown data source to calculate sha256 hash. This should not happen, "
                                   + "please report this issue at https://github.com/minio/minio-java/issues");
@@ -103,7 +146,7 @@ class Digest {
   /**
    * Returns MD5 hash of given data and it's length.
    *
-   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream} or byte array.
+   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream}, {@link ByteBuffer} or byte array.
    * @param len   length of data to be read for hash calculation.
    */
   public static String md5Hash(Object data, int len)
@@ -111,9 +154,11 @@ class Digest {
     MessageDigest md5Digest = MessageDigest.getInstance("MD5");
 
     if (data instanceof BufferedInputStream || data instanceof RandomAccessFile) {
-      updateDigests(data, len, null, md5Digest);
+      updateDigests(data, len, null, md5Digest, null);
     } else if (data instanceof byte[]) {
       md5Digest.update((byte[]) data, 0, len);
+    } else if (data instanceof ByteBuffer) {
+      updateDigests((ByteBuffer) data, len, null, md5Digest, null);
     } else {
       throw new InternalException("Unknown data source to calculate sha256 hash. This should not happen, "
                                   + "please report this issue at https://github.com/minio/minio-java/issues");
@@ -124,9 +169,75 @@ class Digest {
 
 
   /**
-   * Updated MessageDigest with bytes read from file and stream.
+   * Returns base64 encoded CRC32C checksum of given data and it's length.
+   *
+   * @param data  must be {@link RandomAccessFile}, {@link BufferedInputStream}, {@link ByteBuffer} or byte array.
+   * @param len   length of data to be read for checksum calculation.
    */
-  private static int updateDigests(Object inputStream, int len, MessageDigest sha256Digest, MessageDigest md5Digest)
+  public static String crc32cHash(Object data, int len)
+    throws IOException, InsufficientDataException, InternalException {
+    Checksum crc32c = newCrc32c();
+
+    if (data instanceof BufferedInputStream || data instanceof RandomAccessFile) {
+      updateDigests(data, len, null, null, crc32c);
+    } else if (data instanceof byte[]) {
+      crc32c.update((byte[]) data, 0, len);
+    } else if (data instanceof ByteBuffer) {
+      updateDigests((ByteBuffer) data, len, null, null, crc32c);
+    } else {
+      throw new InternalException("Unknown data source to calculate crc32c checksum. This should not happen, "
+                                  + "please report this issue at https://github.com/minio/minio-java/issues");
+    }
+
+    return encodeCrc32c(crc32c);
+  }
+
+
+  /**
+   * Updates MessageDigest and Checksum with bytes of given buffer from its position without changing the position.
+   */
+  private static void updateDigests(ByteBuffer buffer, int len, MessageDigest sha256Digest, MessageDigest md5Digest,
+                                    Checksum crc32c)
+    throws InsufficientDataException {
+    if (buffer.remaining() < len) {
+      throw new InsufficientDataException("Insufficient data.  bytes available " + buffer.remaining() + " expected "
+                                          + len);
+    }
+
+    if (sha256Digest != null) {
+      ByteBuffer data = buffer.duplicate();
+      data.limit(data.position() + len);
+      sha256Digest.update(data);
+    }
+
+    if (md5Digest != null) {
+      ByteBuffer data = buffer.duplicate();
+      data.limit(data.position() + len);
+      md5Digest.update(data);
+    }
+
+    if (crc32c != null) {
+      if (buffer.hasArray()) {
+        crc32c.update(buffer.array(), buffer.arrayOffset() + buffer.position(), len);
+      } else {
+        byte[] buf = new byte[Math.min(len, 16384)];
+        ByteBuffer data = buffer.duplicate();
+        data.limit(data.position() + len);
+        while (data.hasRemaining()) {
+          int n = Math.min(buf.length, data.remaining());
+          data.get(buf, 0, n);
+          crc32c.update(buf, 0, n);
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Updated MessageDigest and Checksum with bytes read from file and stream.
+   */
+  private static int updateDigests(Object inputStream, int len, MessageDigest sha256Digest, MessageDigest md5Digest,
+                                   Checksum crc32c)
     throws IOException, InsufficientDataException {
     RandomAccessFile file = null;
     BufferedInputStream stream = null;
@@ -175,6 +286,10 @@ class Digest {
           md5Digest.update(buf, 0, bytesRead);
         }
 
+        if (crc32c != null) {
+          crc32c.update(buf, 0, bytesRead);
+        }
+
         totalBytesRead += bytesRead;
       }
     }
@@ -188,4 +303,50 @@ class Digest {
 
     return totalBytesRead;
   }
+
+
+  /**
+   * Table driven CRC32C checksum used where java.util.zip.CRC32C is not available.
+   */
+  static class Crc32c implements Checksum {
+    // reversed Castagnoli polynomial.
+    private static final int POLYNOMIAL = 0x82F63B78;
+    private static final int[] TABLE = new int[256];
+
+    static {
+      for (int i = 0; i < TABLE.length; i++) {
+        int crc = i;
+        for (int j = 0; j < 8; j++) {
+          crc = ((crc & 1) != 0) ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+        }
+        TABLE[i] = crc;
+      }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+      crc = (crc >>> 8) ^ TABLE[(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+      int value = crc;
+      for (int i = off; i < off + len; i++) {
+        value = (value >>> 8) ^ TABLE[(value ^ b[i]) & 0xFF];
+      }
+      crc = value;
+    }
+
+    @Override
+    public long getValue() {
+      return (~crc) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+      crc = 0xFFFFFFFF;
+    }
+  }
 }
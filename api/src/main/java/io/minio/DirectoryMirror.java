@@ -0,0 +1,290 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+import io.minio.messages.Item;
+
+
+/**
+ * Uploads files of a local directory tree which are missing or changed in a bucket.
+ * <p>
+ * The directory is walked in order of object names and merge-joined with listing of objects under the prefix, which
+ * is in the same order, so that a changed file is submitted for upload as soon as it is found while walking and
+ * listing go on. At most given number of files are uploaded at a time, and walking waits for a free upload slot. Only
+ * entries of directories on the current path and one page of listing are held, so memory used does not depend on
+ * number of files. A file failing to be read or uploaded is recorded in {@link MirrorResult} and does not stop the
+ * mirror.
+ * </p>
+ */
+class DirectoryMirror {
+  // orders entries of a directory by object name, where a directory sorts as its name followed by '/'.
+  private static final Comparator<Entry> ENTRY_ORDER = new Comparator<Entry>() {
+      @Override
+      public int compare(Entry a, Entry b) {
+        return BucketSnapshot.compare(a.key, b.key);
+      }
+    };
+
+  private final MinioClient client;
+  private final Path dir;
+  private final String bucketName;
+  private final String prefix;
+  private final ChangeDetection changeDetection;
+  private final BoundedExecutor executor;
+  private final MirrorResult result = new MirrorResult();
+
+
+  DirectoryMirror(MinioClient client, Path dir, String bucketName, String prefix, ChangeDetection changeDetection,
+                  int parallelism) {
+    this.client = client;
+    this.dir = dir;
+    this.bucketName = bucketName;
+    this.prefix = (prefix == null) ? "" : prefix;
+    this.changeDetection = changeDetection;
+    this.executor = new BoundedExecutor(parallelism);
+  }
+
+
+  /**
+   * Runs the mirror and returns its result once all uploads are finished.
+   */
+  MirrorResult run()
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    Iterator<Result<Item>> objects = client.listObjects(bucketName, prefix, true).iterator();
+    SortedWalk walk = new SortedWalk();
+    try {
+      Item object = nextObject(objects);
+      LocalFile file;
+      while ((file = walk.next()) != null) {
+        while (object != null && BucketSnapshot.compare(object.objectName(), file.objectName) < 0) {
+          object = nextObject(objects);
+        }
+
+        Item item = null;
+        if (object != null && object.objectName().equals(file.objectName)) {
+          item = object;
+        }
+        submit(file, item);
+      }
+    } finally {
+      executor.awaitTasks();
+    }
+
+    return result;
+  }
+
+
+  private static Item nextObject(Iterator<Result<Item>> objects)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidResponseException {
+    if (!objects.hasNext()) {
+      return null;
+    }
+    return objects.next().get();
+  }
+
+
+  /**
+   * Skips given file if unchanged from given object, or submits upload of the file. Given object is null if missing.
+   */
+  private void submit(final LocalFile file, final Item item) throws IOException {
+    if (item != null && changeDetection != ChangeDetection.ETAG && !isChanged(file, item)) {
+      result.fileSkipped();
+      return;
+    }
+
+    executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          try {
+            if (item != null && changeDetection == ChangeDetection.ETAG && !isContentChanged(file, item)) {
+              result.fileSkipped();
+              return null;
+            }
+
+            client.putObject(bucketName, file.objectName, file.path.toString(), file.size, null, null, null);
+            result.fileUploaded(file.size);
+          } catch (Exception e) {
+            result.fileFailed(file.path.toString(), e);
+          }
+          return null;
+        }
+      });
+  }
+
+
+  /**
+   * Returns true if given file differs from given object by size or modified time.
+   */
+  private boolean isChanged(LocalFile file, Item item) {
+    if (file.size != item.objectSize()) {
+      return true;
+    }
+
+    return changeDetection != ChangeDetection.SIZE && file.lastModified > item.lastModified().getTime();
+  }
+
+
+  /**
+   * Returns true if ETag of given file differs from ETag of given object. Object uploaded by multipart upload with part
+   * sizes other than {@link MinioClient#putObject(String, String, String)} uses is compared by size and modified time.
+   */
+  private boolean isContentChanged(LocalFile file, Item item)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    if (file.size != item.objectSize()) {
+      return true;
+    }
+
+    // files are hashed in parallel already, so parts of a file are hashed one at a time.
+    String etag = FileEtag.compute(file.path, file.size, item.etag().replaceAll("\"", ""), 1);
+    if (etag == null) {
+      return isChanged(file, item);
+    }
+
+    return !FileEtag.sameEtag(etag, item.etag());
+  }
+
+
+  /**
+   * Path, object name, size and modified time of a local file.
+   */
+  private static class LocalFile {
+    private final Path path;
+    private final String objectName;
+    private final long size;
+    private final long lastModified;
+
+    LocalFile(Path path, String objectName, long size, long lastModified) {
+      this.path = path;
+      this.objectName = objectName;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+
+
+  /**
+   * Path, object name and attributes of an entry of a directory, sorted by key which is object name of a file or
+   * object name followed by '/' of a directory.
+   */
+  private static class Entry {
+    private final Path path;
+    private final String key;
+    private final BasicFileAttributes attrs;
+
+    Entry(Path path, String key, BasicFileAttributes attrs) {
+      this.path = path;
+      this.key = key;
+      this.attrs = attrs;
+    }
+  }
+
+
+  /**
+   * Walks regular files of the directory tree in order of object names. Entries of a directory are read and sorted
+   * when the directory is entered, and its subdirectories are walked when reached in that order. Symbolic links are
+   * not followed. Entries failed to be read are recorded as failed.
+   */
+  private class SortedWalk {
+    // sorted entries not walked yet of directories on the current path, innermost last.
+    private final Deque<Iterator<Entry>> entries = new ArrayDeque<>();
+
+    SortedWalk() {
+      enter(dir, prefix);
+    }
+
+    /**
+     * Returns next regular file, or null if the walk is finished.
+     */
+    LocalFile next() {
+      while (!entries.isEmpty()) {
+        Iterator<Entry> iterator = entries.peekLast();
+        if (!iterator.hasNext()) {
+          entries.removeLast();
+          continue;
+        }
+
+        Entry entry = iterator.next();
+        if (entry.attrs.isDirectory()) {
+          enter(entry.path, entry.key);
+        } else if (entry.attrs.isRegularFile()) {
+          result.fileScanned();
+          return new LocalFile(entry.path, entry.key, entry.attrs.size(), entry.attrs.lastModifiedTime().toMillis());
+        }
+      }
+
+      return null;
+    }
+
+    private void enter(Path directory, String keyPrefix) {
+      List<Entry> list = new ArrayList<>();
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+        for (Path path : stream) {
+          try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class,
+                                                             LinkOption.NOFOLLOW_LINKS);
+            String key = keyPrefix + path.getFileName().toString();
+            list.add(new Entry(path, attrs.isDirectory() ? key + "/" : key, attrs));
+          } catch (IOException e) {
+            result.fileFailed(path.toString(), e);
+          }
+        }
+      } catch (IOException e) {
+        result.fileFailed(directory.toString(), e);
+        return;
+      } catch (DirectoryIteratorException e) {
+        result.fileFailed(directory.toString(), e.getCause());
+        return;
+      }
+
+      Collections.sort(list, ENTRY_ORDER);
+      entries.addLast(list.iterator());
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Progress and result of downloading objects of a prefix to a directory. Counters are updated while the download is
+ * running.
+ */
+public class DownloadResult {
+  private final long startTime = System.nanoTime();
+  private final AtomicLong listedObjects = new AtomicLong();
+  private final AtomicLong downloadedObjects = new AtomicLong();
+  private final AtomicLong downloadedBytes = new AtomicLong();
+  private final Map<String, Exception> errors = new ConcurrentHashMap<>();
+  private volatile long endTime = 0;
+
+
+  /**
+   * Returns number of objects listed.
+   */
+  public long listedObjects() {
+    return listedObjects.get();
+  }
+
+
+  /**
+   * Returns number of objects downloaded including objects already downloaded previously.
+   */
+  public long downloadedObjects() {
+    return downloadedObjects.get();
+  }
+
+
+  /**
+   * Returns total bytes downloaded. Bytes of files already downloaded previously are not counted.
+   */
+  public long downloadedBytes() {
+    return downloadedBytes.get();
+  }
+
+
+  /**
+   * Returns number of objects failed to download.
+   */
+  public long failedObjects() {
+    return errors.size();
+  }
+
+
+  /**
+   * Returns errors of failed objects keyed by object name.
+   */
+  public Map<String, Exception> errors() {
+    return Collections.unmodifiableMap(errors);
+  }
+
+
+  /**
+   * Returns elapsed time of the download in milliseconds.
+   */
+  public long elapsedMillis() {
+    long end = (endTime == 0) ? System.nanoTime() : endTime;
+    return (end - startTime) / 1000000;
+  }
+
+
+  /**
+   * Returns average download throughput in bytes per second.
+   */
+  public long bytesPerSecond() {
+    long elapsed = Math.max(elapsedMillis(), 1);
+    return downloadedBytes.get() * 1000 / elapsed;
+  }
+
+
+  void objectListed() {
+    listedObjects.incrementAndGet();
+  }
+
+
+  void objectDownloaded(long bytes) {
+    downloadedObjects.incrementAndGet();
+    downloadedBytes.addAndGet(bytes);
+  }
+
+
+  void objectFailed(String objectName, Exception e) {
+    errors.put(objectName, e);
+  }
+
+
+  void finished() {
+    endTime = System.nanoTime();
+  }
+}
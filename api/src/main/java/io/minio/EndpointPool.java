@@ -0,0 +1,278 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.minio.errors.InvalidEndpointException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+
+
+/**
+ * Set of server nodes of a distributed deployment which requests of a client are spread across.
+ * <p>
+ * Each request is sent to a healthy node chosen by {@link Strategy}, counting a request outstanding until its
+ * response body is closed. A node failing a request by I/O error is ejected, and every node is checked in background
+ * by its liveness endpoint {@code /minio/health/live} to eject or re-admit it. If no node is healthy, requests are
+ * spread across all nodes. Requests are signed for the host of the chosen node.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code EndpointPool pool = new EndpointPool(Arrays.asList("http://node1:9000", "http://node2:9000"),
+ *                                       EndpointPool.Strategy.POWER_OF_TWO_CHOICES, 5000);
+ * minioClient.setEndpointPool(pool);
+ * ...
+ * pool.close(); }</pre>
+ */
+public class EndpointPool implements Closeable {
+  private static final String HEALTH_PATH = "/minio/health/live";
+
+  /**
+   * Strategy of choosing a node for a request.
+   */
+  public enum Strategy {
+    /**
+     * Node having the least outstanding requests.
+     */
+    LEAST_OUTSTANDING_REQUESTS,
+    /**
+     * Node having less outstanding requests of two randomly picked nodes.
+     */
+    POWER_OF_TWO_CHOICES
+  }
+
+  private final List<Node> nodes;
+  private final Strategy strategy;
+  private final OkHttpClient healthClient;
+  private final ScheduledExecutorService healthChecker;
+  private final AtomicInteger nextIndex = new AtomicInteger();
+
+
+  /**
+   * Creates endpoint pool of given node URLs, strategy and health check interval.
+   *
+   * @param endpoints                  URLs of nodes like {@code http://node1:9000}.
+   * @param strategy                   Strategy of choosing a node.
+   * @param healthCheckIntervalMillis  Interval of checking health of nodes in milliseconds.
+   *
+   * @throws InvalidEndpointException  upon invalid endpoint is given.
+   */
+  public EndpointPool(List<String> endpoints, Strategy strategy, long healthCheckIntervalMillis)
+    throws InvalidEndpointException {
+    if (endpoints == null || endpoints.isEmpty()) {
+      throw new InvalidEndpointException("", "at least one endpoint is required");
+    }
+    if (strategy == null) {
+      throw new IllegalArgumentException("strategy cannot be null");
+    }
+    if (healthCheckIntervalMillis <= 0) {
+      throw new IllegalArgumentException("health check interval must be greater than zero");
+    }
+
+    List<Node> nodes = new ArrayList<>();
+    for (String endpoint : endpoints) {
+      HttpUrl url = (endpoint == null) ? null : HttpUrl.parse(endpoint);
+      if (url == null) {
+        throw new InvalidEndpointException(String.valueOf(endpoint), "invalid URL");
+      }
+      if (!"/".equals(url.encodedPath())) {
+        throw new InvalidEndpointException(endpoint, "no path allowed in endpoint");
+      }
+      nodes.add(new Node(url));
+    }
+
+    this.nodes = Collections.unmodifiableList(nodes);
+    this.strategy = strategy;
+    this.healthClient = new OkHttpClient.Builder()
+        .connectTimeout(healthCheckIntervalMillis, TimeUnit.MILLISECONDS)
+        .readTimeout(healthCheckIntervalMillis, TimeUnit.MILLISECONDS)
+        .build();
+    this.healthChecker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "minio-health-check");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    this.healthChecker.scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          checkHealth();
+        }
+      }, healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+
+  /**
+   * Returns URLs of nodes currently healthy.
+   */
+  public List<String> healthyEndpoints() {
+    List<String> endpoints = new ArrayList<>();
+    for (Node node : nodes) {
+      if (node.healthy) {
+        endpoints.add(node.url.toString());
+      }
+    }
+    return endpoints;
+  }
+
+
+  /**
+   * Stops health checks.
+   */
+  @Override
+  public void close() {
+    healthChecker.shutdownNow();
+  }
+
+
+  /**
+   * Chooses a node for a request and counts the request outstanding on it.
+   */
+  Node select() {
+    List<Node> candidates = new ArrayList<>(nodes.size());
+    for (Node node : nodes) {
+      if (node.healthy) {
+        candidates.add(node);
+      }
+    }
+    if (candidates.isEmpty()) {
+      candidates = nodes;
+    }
+
+    Node chosen;
+    int size = candidates.size();
+    if (size == 1) {
+      chosen = candidates.get(0);
+    } else if (strategy == Strategy.POWER_OF_TWO_CHOICES) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int first = random.nextInt(size);
+      int second = random.nextInt(size - 1);
+      if (second >= first) {
+        second++;
+      }
+      Node a = candidates.get(first);
+      Node b = candidates.get(second);
+      chosen = (b.outstanding.get() < a.outstanding.get()) ? b : a;
+    } else {
+      // start from rotating index so that ties are spread across nodes.
+      int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+      chosen = candidates.get(start);
+      for (int i = 1; i < size; i++) {
+        Node node = candidates.get((start + i) % size);
+        if (node.outstanding.get() < chosen.outstanding.get()) {
+          chosen = node;
+        }
+      }
+    }
+
+    chosen.outstanding.incrementAndGet();
+    return chosen;
+  }
+
+
+  /**
+   * Finishes a request on given node which is not sent.
+   */
+  void release(Node node) {
+    node.outstanding.decrementAndGet();
+  }
+
+
+  /**
+   * Finishes a request on given node which failed by transport error before receiving response.
+   */
+  void failed(Node node, Exception e) {
+    node.outstanding.decrementAndGet();
+    if (e instanceof IOException && !Thread.currentThread().isInterrupted()) {
+      node.healthy = false;
+    }
+  }
+
+
+  /**
+   * Returns response whose body finishes the request on given node when closed.
+   */
+  Response track(final Node node, Response response) {
+    final AtomicBoolean released = new AtomicBoolean(false);
+    ResponseBody body = response.body();
+    ForwardingSource source = new ForwardingSource(body.source()) {
+      @Override
+      public void close() throws IOException {
+        if (released.compareAndSet(false, true)) {
+          node.outstanding.decrementAndGet();
+        }
+        super.close();
+      }
+    };
+
+    return response.newBuilder()
+        .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
+        .build();
+  }
+
+
+  /**
+   * Checks liveness of every node and updates its health.
+   */
+  private void checkHealth() {
+    for (Node node : nodes) {
+      Request request = new Request.Builder().url(node.url.resolve(HEALTH_PATH)).get().build();
+      try (Response response = healthClient.newCall(request).execute()) {
+        node.healthy = response.isSuccessful();
+      } catch (IOException | RuntimeException e) {
+        node.healthy = false;
+      }
+    }
+  }
+
+
+  /**
+   * A server node with its health and number of outstanding requests.
+   */
+  static class Node {
+    private final HttpUrl url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    Node(HttpUrl url) {
+      this.url = url;
+    }
+
+    HttpUrl url() {
+      return url;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.common.io.BaseEncoding;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+
+
+/**
+ * Computes S3 ETag of a local file as if the file is uploaded with given part size.
+ * <p>
+ * A file not larger than the part size is uploaded by a single PUT, whose ETag is MD5 of the file. ETag of a larger
+ * file is MD5 of concatenated MD5s of its parts followed by '-' and number of parts. Parts are hashed in parallel
+ * through memory-mapped windows of the file, so the file is not copied into heap buffers.
+ * </p>
+ */
+class FileEtag {
+  // size of memory-mapped window of a part, which keeps mapping within int range for any part size.
+  private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+
+  private FileEtag() {
+  }
+
+
+  /**
+   * Returns ETag of given file of given size uploaded with given part size, where at most given number of parts are
+   * hashed at a time.
+   */
+  static String compute(final Path path, long size, long partSize, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    if (size <= partSize) {
+      return hex(hash(path, 0, size));
+    }
+
+    int partCount = (int) ((size + partSize - 1) / partSize);
+    BoundedExecutor executor = new BoundedExecutor(parallelism);
+    List<Future<byte[]>> digests = new ArrayList<>(partCount);
+    try {
+      for (int i = 0; i < partCount && !executor.failed(); i++) {
+        final long offset = i * partSize;
+        final long length = Math.min(partSize, size - offset);
+        digests.add(executor.submit(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+              return hash(path, offset, length);
+            }
+          }));
+      }
+
+      MessageDigest md5Digest = MessageDigest.getInstance("MD5");
+      for (Future<byte[]> digest : digests) {
+        md5Digest.update(BoundedExecutor.get(digest));
+      }
+      if (digests.size() != partCount) {
+        throw new InternalException("parts of '" + path + "' are not hashed");
+      }
+      return hex(md5Digest.digest()) + "-" + partCount;
+    } finally {
+      BoundedExecutor.cancel(digests);
+    }
+  }
+
+
+  /**
+   * Returns ETag of given file computed with the same part layout as given ETag, or null if given ETag has a number of
+   * parts other than upload by {@link MinioClient#putObject(String, String, String)} makes.
+   */
+  static String compute(Path path, long size, String etag, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    int index = etag.indexOf('-');
+    if (index < 0) {
+      return compute(path, size, size, parallelism);
+    }
+
+    long partSize = MinioClient.uploadPartSize(size);
+    if (size <= partSize || !etag.substring(index + 1).equals(Long.toString((size + partSize - 1) / partSize))) {
+      return null;
+    }
+
+    return compute(path, size, partSize, parallelism);
+  }
+
+
+  /**
+   * Returns MD5 of given range of given file read by memory-mapped windows.
+   */
+  private static byte[] hash(Path path, long offset, long length) throws IOException, NoSuchAlgorithmException {
+    MessageDigest md5Digest = MessageDigest.getInstance("MD5");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < offset + length) {
+        throw new IOException("'" + path + "' is truncated to " + channel.size() + " bytes while hashing");
+      }
+
+      long position = offset;
+      long end = offset + length;
+      while (position < end) {
+        long windowSize = Math.min(WINDOW_SIZE, end - position);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+        md5Digest.update(window);
+        position += windowSize;
+      }
+    }
+    return md5Digest.digest();
+  }
+
+
+  /**
+   * Returns whether given ETags are equal ignoring quotes and case.
+   */
+  static boolean sameEtag(String etag, String other) {
+    return normalize(etag).equals(normalize(other));
+  }
+
+
+  private static String normalize(String etag) {
+    return etag.replaceAll("\"", "").toLowerCase(Locale.US);
+  }
+
+
+  private static String hex(byte[] digest) {
+    return BaseEncoding.base16().lowerCase().encode(digest);
+  }
+}
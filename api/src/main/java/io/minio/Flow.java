@@ -0,0 +1,84 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+
+/**
+ * Interfaces of demand-driven publishers and subscribers used by reactive APIs of {@link MinioClient}.
+ * <p>
+ * They have the same methods and rules as {@code java.util.concurrent.Flow} of Java 9 and Reactive Streams, which are
+ * not available on Java 8, so that a publisher or a subscriber is adapted to either of them by delegating each method.
+ * A publisher emits no more elements than requested by its subscriber.
+ * </p>
+ */
+public final class Flow {
+  private Flow() {
+  }
+
+
+  /**
+   * Producer of elements received by subscribers as requested.
+   */
+  public interface Publisher<T> {
+    /**
+     * Adds given subscriber, which receives {@link Subscriber#onSubscribe(Subscription)} first.
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+  }
+
+
+  /**
+   * Receiver of elements of a publisher.
+   */
+  public interface Subscriber<T> {
+    /**
+     * Called before any other method with the subscription to request elements by.
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called with next element as requested.
+     */
+    void onNext(T item);
+
+    /**
+     * Called once upon failure. No method is called after this.
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once when all elements are emitted. No method is called after this.
+     */
+    void onComplete();
+  }
+
+
+  /**
+   * Link of a publisher and a subscriber.
+   */
+  public interface Subscription {
+    /**
+     * Requests given number of more elements. Non-positive number fails the subscription.
+     */
+    void request(long n);
+
+    /**
+     * Stops receiving elements. Resources held by the subscription are released.
+     */
+    void cancel();
+  }
+}
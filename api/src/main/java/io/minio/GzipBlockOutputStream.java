@@ -0,0 +1,181 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Output stream compressing written data by gzip in parallel and writing it to {@link MinioOutputStream}.
+ * <p>
+ * Written data is cut into blocks which are compressed independently as gzip members on worker threads, and the
+ * compressed members are written in order. Concatenated gzip members are a valid gzip stream, so the object is
+ * decompressed by {@link java.util.zip.GZIPInputStream} or any gzip tool. Compressed data is cut into parts by
+ * {@link MinioOutputStream} as usual.
+ * </p>
+ */
+class GzipBlockOutputStream extends OutputStream {
+  static final int BLOCK_SIZE = 1024 * 1024;
+
+  private final MinioOutputStream target;
+  private final BoundedExecutor executor;
+  // at most this many compressed blocks are kept waiting to be written.
+  private final int maxPendingBlocks;
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+  private byte[] block = new byte[BLOCK_SIZE];
+  private int blockLength = 0;
+  private boolean closed = false;
+
+
+  GzipBlockOutputStream(MinioOutputStream target, int parallelism) {
+    this.target = target;
+    this.executor = new BoundedExecutor(parallelism);
+    this.maxPendingBlocks = parallelism * 2;
+  }
+
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || off + len > b.length) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (closed) {
+      throw new IOException("stream is closed");
+    }
+
+    try {
+      while (len > 0) {
+        int n = Math.min(len, block.length - blockLength);
+        System.arraycopy(b, off, block, blockLength, n);
+        blockLength += n;
+        off += n;
+        len -= n;
+        if (blockLength == block.length) {
+          compressBlock();
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      abort();
+      throw e;
+    }
+  }
+
+
+  /**
+   * Writes all compressed blocks and completes the upload.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    try {
+      if (blockLength > 0) {
+        compressBlock();
+      }
+      while (!pending.isEmpty()) {
+        writeBlock();
+      }
+    } catch (IOException | RuntimeException e) {
+      abort();
+      throw e;
+    }
+
+    closed = true;
+    target.close();
+  }
+
+
+  /**
+   * Cancels compression of pending blocks and the upload.
+   */
+  void abort() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    BoundedExecutor.cancel(pending);
+    pending.clear();
+    target.abort();
+  }
+
+
+  /**
+   * Submits current block to be compressed and writes compressed blocks done in order.
+   */
+  private void compressBlock() throws IOException {
+    final byte[] data = block;
+    final int length = blockLength;
+    block = new byte[BLOCK_SIZE];
+    blockLength = 0;
+
+    pending.add(executor.submit(new Callable<byte[]>() {
+        @Override
+        public byte[] call() throws IOException {
+          ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+          try (GZIPOutputStream gzip = new GZIPOutputStream(out, 65536)) {
+            gzip.write(data, 0, length);
+          }
+          return out.toByteArray();
+        }
+      }));
+
+    while (!pending.isEmpty() && (pending.size() > maxPendingBlocks || pending.peek().isDone())) {
+      writeBlock();
+    }
+  }
+
+
+  /**
+   * Waits for the first pending block to be compressed and writes it.
+   */
+  private void writeBlock() throws IOException {
+    byte[] compressed;
+    try {
+      compressed = pending.peek().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while compressing");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    }
+
+    pending.poll();
+    target.write(compressed, 0, compressed.length);
+  }
+}
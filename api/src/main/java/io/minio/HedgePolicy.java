@@ -0,0 +1,124 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Policy of hedging GET and HEAD requests.
+ * <p>
+ * If response of a request has not arrived within the hedge delay, an identical request is sent and whichever
+ * successful response arrives first is used while the other request is cancelled. A failure or server error response
+ * of one request waits for the other. The hedge delay is the given percentile of recent response times, bounded by
+ * given minimum and maximum delays. Until enough response times are recorded, the maximum delay is used.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code // hedge requests slower than 95th percentile, waiting at least 20ms and at most 2s.
+ * minioClient.setHedgePolicy(new HedgePolicy(95, 20, 2000)); }</pre>
+ */
+public class HedgePolicy {
+  private static final int SAMPLE_COUNT = 256;
+  private static final int MIN_SAMPLE_COUNT = 16;
+  // hedge delay is recalculated once per this many recorded response times.
+  private static final int UPDATE_INTERVAL = 16;
+
+  private final double percentile;
+  private final long minDelayMillis;
+  private final long maxDelayMillis;
+  private final long[] samples = new long[SAMPLE_COUNT];
+  private long recordedCount = 0;
+  private volatile long delayMillis;
+
+  private final AtomicLong hedgedCount = new AtomicLong();
+  private final AtomicLong hedgeWinCount = new AtomicLong();
+
+
+  /**
+   * Creates hedge policy of given percentile of response times and delay bounds.
+   *
+   * @param percentile      Percentile of recent response times used as hedge delay, in range of 0 to 100.
+   * @param minDelayMillis  Minimum hedge delay in milliseconds.
+   * @param maxDelayMillis  Maximum hedge delay in milliseconds.
+   */
+  public HedgePolicy(double percentile, long minDelayMillis, long maxDelayMillis) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be in range of 0 to 100");
+    }
+    if (minDelayMillis < 0 || maxDelayMillis < minDelayMillis) {
+      throw new IllegalArgumentException("delays must be non-negative and minimum must not exceed maximum");
+    }
+
+    this.percentile = percentile;
+    this.minDelayMillis = minDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+    this.delayMillis = maxDelayMillis;
+  }
+
+
+  /**
+   * Returns current hedge delay in milliseconds.
+   */
+  public long delayMillis() {
+    return delayMillis;
+  }
+
+
+  /**
+   * Returns number of requests hedged.
+   */
+  public long hedgedCount() {
+    return hedgedCount.get();
+  }
+
+
+  /**
+   * Returns number of hedged requests where response of the hedge request was used.
+   */
+  public long hedgeWinCount() {
+    return hedgeWinCount.get();
+  }
+
+
+  /**
+   * Records response time of a request.
+   */
+  synchronized void record(long millis) {
+    samples[(int) (recordedCount % SAMPLE_COUNT)] = millis;
+    recordedCount++;
+    if (recordedCount >= MIN_SAMPLE_COUNT && recordedCount % UPDATE_INTERVAL == 0) {
+      int count = (int) Math.min(recordedCount, SAMPLE_COUNT);
+      long[] sorted = Arrays.copyOf(samples, count);
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100 * count) - 1;
+      long delay = sorted[Math.max(index, 0)];
+      delayMillis = Math.max(minDelayMillis, Math.min(delay, maxDelayMillis));
+    }
+  }
+
+
+  void hedged() {
+    hedgedCount.incrementAndGet();
+  }
+
+
+  void hedgeWon() {
+    hedgeWinCount.incrementAndGet();
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+
+/**
+ * Executes an idempotent request with a hedge request sent if the first response does not arrive within the hedge
+ * delay of {@link HedgePolicy}. While both calls are in flight, a failure or a server error response of one call waits
+ * for the other, so that a fast 5xx response of one node does not discard a slower successful response.
+ */
+class HedgedCall {
+  private final OkHttpClient httpClient;
+  private final Request request;
+  private final HedgePolicy policy;
+  // set once the result is chosen, after which outcomes are closed instead of being queued.
+  private final AtomicBoolean settled = new AtomicBoolean(false);
+  private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+
+
+  HedgedCall(OkHttpClient httpClient, Request request, HedgePolicy policy) {
+    this.httpClient = httpClient;
+    this.request = request;
+    this.policy = policy;
+  }
+
+
+  /**
+   * Executes the request and returns the first successful response, or the best of both outcomes if neither succeeds
+   * where a server error response is preferred to a failure.
+   */
+  Response execute() throws IOException {
+    long start = System.nanoTime();
+    Call primary = start();
+    Call hedge = null;
+    try {
+      Outcome outcome = outcomes.poll(policy.delayMillis(), TimeUnit.MILLISECONDS);
+      if (outcome == null) {
+        policy.hedged();
+        hedge = start();
+        outcome = outcomes.take();
+      }
+
+      if (hedge != null && outcome.rank() < Outcome.SUCCESS) {
+        // the other request may still succeed.
+        Outcome other = outcomes.take();
+        if (other.rank() > outcome.rank()) {
+          Outcome loser = outcome;
+          outcome = other;
+          other = loser;
+        }
+        other.close();
+      }
+
+      if (outcome.exception != null) {
+        throw outcome.exception;
+      }
+
+      if (outcome.call == hedge) {
+        policy.hedgeWon();
+        primary.cancel();
+      } else if (hedge != null) {
+        hedge.cancel();
+      }
+
+      policy.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return outcome.response;
+    } catch (InterruptedException e) {
+      primary.cancel();
+      if (hedge != null) {
+        hedge.cancel();
+      }
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for response");
+    } finally {
+      settled.set(true);
+      // close outcomes queued but not taken.
+      Outcome outcome;
+      while ((outcome = outcomes.poll()) != null) {
+        outcome.close();
+      }
+    }
+  }
+
+
+  /**
+   * Starts new call of the request in background.
+   */
+  private Call start() {
+    final Call call = httpClient.newCall(request);
+    BoundedExecutor.WORKERS.execute(new Runnable() {
+        @Override
+        public void run() {
+          Outcome outcome;
+          try {
+            outcome = new Outcome(call, call.execute(), null);
+          } catch (IOException e) {
+            outcome = new Outcome(call, null, e);
+          } catch (RuntimeException e) {
+            outcome = new Outcome(call, null, new IOException(e));
+          }
+
+          outcomes.add(outcome);
+          // whoever removes the outcome from the queue closes it.
+          if (settled.get() && outcomes.remove(outcome)) {
+            outcome.close();
+          }
+        }
+      });
+    return call;
+  }
+
+
+  /**
+   * Response or error of a call.
+   */
+  private static class Outcome {
+    private static final int FAILURE = 0;
+    private static final int SERVER_ERROR = 1;
+    private static final int SUCCESS = 2;
+
+    private final Call call;
+    private final Response response;
+    private final IOException exception;
+
+    Outcome(Call call, Response response, IOException exception) {
+      this.call = call;
+      this.response = response;
+      this.exception = exception;
+    }
+
+    /**
+     * Returns how good the outcome is, where a response other than server error is the best.
+     */
+    int rank() {
+      if (response == null) {
+        return FAILURE;
+      }
+      return (response.code() >= 500) ? SERVER_ERROR : SUCCESS;
+    }
+
+    void close() {
+      if (response != null) {
+        response.close();
+      }
+    }
+  }
+}
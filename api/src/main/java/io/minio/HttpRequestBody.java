@@ -19,6 +19,7 @@ package io.minio;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 
 import okhttp3.MediaType;
@@ -33,11 +34,17 @@ class HttpRequestBody extends RequestBody {
   private final String contentType;
   private final Object data;
   private final int len;
+  private final BandwidthLimiter limiter;
 
   HttpRequestBody(final String contentType, final Object data, final int len) {
+    this(contentType, data, len, null);
+  }
+
+  HttpRequestBody(final String contentType, final Object data, final int len, final BandwidthLimiter limiter) {
     this.contentType = contentType;
     this.data = data;
     this.len = len;
+    this.limiter = limiter;
   }
 
   @Override
@@ -56,7 +63,8 @@ class HttpRequestBody extends RequestBody {
 
   @Override
   public long contentLength() {
-    if (data instanceof InputStream || data instanceof RandomAccessFile || data instanceof byte[]) {
+    if (data instanceof InputStream || data instanceof RandomAccessFile || data instanceof byte[]
+        || data instanceof ByteBuffer) {
       return len;
     }
 
@@ -69,6 +77,18 @@ class HttpRequestBody extends RequestBody {
 
   @Override
   public void writeTo(BufferedSink sink) throws IOException {
+    if (limiter == null) {
+      writeData(sink);
+      return;
+    }
+
+    BufferedSink limitedSink = Okio.buffer(limiter.sink(sink));
+    writeData(limitedSink);
+    // push remaining bytes to the sink without closing it.
+    limitedSink.emit();
+  }
+
+  private void writeData(BufferedSink sink) throws IOException {
     if (data instanceof InputStream) {
       InputStream stream = (InputStream) data;
       sink.writeAll(Okio.source(stream));
@@ -78,6 +98,13 @@ class HttpRequestBody extends RequestBody {
     } else if (data instanceof byte[]) {
       byte[] bytes = (byte[]) data;
       sink.write(bytes, 0, len);
+    } else if (data instanceof ByteBuffer) {
+      // write from a duplicate to keep position of the buffer intact for retry.
+      ByteBuffer buffer = ((ByteBuffer) data).duplicate();
+      buffer.limit(buffer.position() + len);
+      while (buffer.hasRemaining()) {
+        sink.write(buffer);
+      }
     } else {
       sink.writeUtf8(data.toString());
     }
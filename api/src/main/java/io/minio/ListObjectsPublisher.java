@@ -0,0 +1,132 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResult;
+import io.minio.messages.Prefix;
+
+
+/**
+ * Publisher of objects of a bucket listed page by page as the subscriber requests them.
+ * <p>
+ * A page is fetched only when requested objects are not left in the current page. When more objects are requested
+ * than left in the current page, the next page is fetched in background while the current page is emitted.
+ * </p>
+ */
+class ListObjectsPublisher implements Flow.Publisher<Item> {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String prefix;
+  private final String delimiter;
+
+
+  ListObjectsPublisher(MinioClient client, String bucketName, String prefix, boolean recursive) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.prefix = prefix;
+    this.delimiter = recursive ? null : "/";
+  }
+
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super Item> subscriber) {
+    new ListObjectsSubscription(subscriber).start();
+  }
+
+
+  private class ListObjectsSubscription extends PullSubscription<Item> {
+    private Iterator<Item> items;
+    private int remaining = 0;
+    private String continuationToken;
+    private boolean truncated = true;
+    private Future<ListBucketResult> nextPage;
+
+
+    ListObjectsSubscription(Flow.Subscriber<? super Item> subscriber) {
+      super(subscriber);
+    }
+
+
+    @Override
+    Item next() throws Exception {
+      while (remaining == 0) {
+        if (!truncated) {
+          return null;
+        }
+        setPage(takePage());
+      }
+
+      if (nextPage == null && truncated && demand() > remaining) {
+        nextPage = fetchPage(continuationToken);
+      }
+
+      remaining--;
+      return items.next();
+    }
+
+
+    @Override
+    void release() {
+      if (nextPage != null) {
+        nextPage.cancel(true);
+      }
+    }
+
+
+    private ListBucketResult takePage() throws Exception {
+      Future<ListBucketResult> page = nextPage;
+      nextPage = null;
+      if (page == null) {
+        return client.listObjectsV2(bucketName, continuationToken, prefix, delimiter);
+      }
+      return BoundedExecutor.get(page);
+    }
+
+
+    private Future<ListBucketResult> fetchPage(final String token) {
+      FutureTask<ListBucketResult> page = new FutureTask<>(new Callable<ListBucketResult>() {
+          @Override
+          public ListBucketResult call() throws Exception {
+            return client.listObjectsV2(bucketName, token, prefix, delimiter);
+          }
+        });
+      BoundedExecutor.WORKERS.execute(page);
+      return page;
+    }
+
+
+    private void setPage(ListBucketResult result) throws Exception {
+      List<Item> page = new ArrayList<>(result.contents());
+      for (Prefix p : result.commonPrefixes()) {
+        page.add(new Item(p.prefix(), true));
+      }
+
+      items = page.iterator();
+      remaining = page.size();
+      continuationToken = result.nextContinuationToken();
+      truncated = result.isTruncated();
+    }
+  }
+}
@@ -49,6 +49,7 @@ import io.minio.messages.DeleteRequest;
 import io.minio.messages.DeleteResult;
 import io.minio.messages.ErrorResponse;
 import io.minio.messages.InitiateMultipartUploadResult;
+import io.minio.messages.InputSerialization;
 import io.minio.messages.Item;
 import io.minio.messages.ListAllMyBucketsResult;
 import io.minio.messages.ListBucketResult;
@@ -56,8 +57,10 @@ import io.minio.messages.ListBucketResultV1;
 import io.minio.messages.ListMultipartUploadsResult;
 import io.minio.messages.ListPartsResult;
 import io.minio.messages.ObjectLockConfiguration;
+import io.minio.messages.OutputSerialization;
 import io.minio.messages.Part;
 import io.minio.messages.Prefix;
+import io.minio.messages.SelectObjectContentRequest;
 import io.minio.messages.Upload;
 import io.minio.messages.NotificationConfiguration;
 import io.minio.org.apache.commons.validator.routines.InetAddressValidator;
@@ -71,23 +74,27 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okhttp3.Protocol;
+import okio.Okio;
 
 import org.joda.time.DateTime;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlpull.v1.XmlPullParserFactory;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
 import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -101,6 +108,7 @@ import java.security.KeyManagementException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -111,10 +119,17 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+import java.util.zip.GZIPInputStream;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSession;
@@ -156,15 +171,30 @@ import javax.net.ssl.X509TrustManager;
 @SuppressWarnings({"SameParameterValue", "WeakerAccess"})
 public class MinioClient {
   private static final Logger LOGGER = Logger.getLogger(MinioClient.class.getName());
+  // thread-safe reader shared by all notification streams.
+  private static final ObjectReader NOTIFICATION_READER = new ObjectMapper().readerFor(NotificationInfo.class);
   // default network I/O timeout is 15 minutes
   private static final long DEFAULT_CONNECTION_TIMEOUT = 15 * 60;
   // maximum allowed object size is 5TiB
   private static final long MAX_OBJECT_SIZE = 5L * 1024 * 1024 * 1024 * 1024;
   // maxPartSize - maximum part size 5GiB for a single multipart upload operation
   private static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
-  private static final int MAX_MULTIPART_COUNT = 10000;
+  static final int MAX_MULTIPART_COUNT = 10000;
   // minimum allowed multipart size is 5MiB
   private static final int MIN_MULTIPART_SIZE = 5 * 1024 * 1024;
+  // part size of unknown sized stream doubles every 800 parts, i.e. 5MiB, 10MiB, ... up to 1280MiB, so that
+  // MAX_MULTIPART_COUNT parts are able to upload MAX_OBJECT_SIZE data.
+  private static final int UNKNOWN_SIZE_PART_GROWTH_INTERVAL = 800;
+  private static final int UNKNOWN_SIZE_PART_MAX_SHIFT = 8;
+  // default number of parts uploaded at a time by object output stream.
+  private static final int DEFAULT_UPLOAD_PARALLELISM = 4;
+  // user metadata marking object compressed by putObjectCompressed().
+  private static final String COMPRESSION_HEADER = "X-Amz-Meta-Compression";
+  private static final String GZIP = "gzip";
+  // default number of requests running at a time for server-side copy.
+  private static final int DEFAULT_COPY_PARALLELISM = 4;
+  // minimum part size of multipart copy of a large object to keep number of requests low.
+  private static final long MIN_MULTIPART_COPY_PART_SIZE = 512L * 1024 * 1024;
   // maximum allowed bucket policy size is 12KiB
   private static final int MAX_BUCKET_POLICY_SIZE = 12 * 1024;
   // default expiration for a presigned URL is 7 days in seconds
@@ -173,9 +203,13 @@ public class MinioClient {
       + System.getProperty("os.arch") + ") minio-java/" + MinioProperties.INSTANCE.getVersion();
   private static final String NULL_STRING = "(null)";
   private static final String S3_AMAZONAWS_COM = "s3.amazonaws.com";
-  private static final String END_HTTP = "----------END-HTTP----------";
   private static final String US_EAST_1 = "us-east-1";
   private static final String UPLOAD_ID = "uploadId";
+  private static final int MAX_BUCKET_URLS = 4096;
+  // maximum number of part sizes looked up at a time by getObjectVerified.
+  private static final int VERIFY_PARALLELISM = 4;
+  // maximum number of trace records of traceOn() waiting to be written.
+  private static final int TRACE_BUFFER_SIZE = 1024;
 
   private static XmlPullParserFactory xmlPullParserFactory = null;
 
@@ -202,6 +236,7 @@ public class MinioClient {
     standardHeaders.add("content-language");
     standardHeaders.add("expires");
     standardHeaders.add("range");
+    standardHeaders.add("if-match");
   }
 
   static {
@@ -213,7 +248,14 @@ public class MinioClient {
     }
   }
 
-  private PrintWriter traceStream;
+  // x-amz-date shared by requests of the same second.
+  private static volatile AmzDate currentAmzDate = new AmzDate(0);
+
+  private volatile Tracer tracer;
+  // tracer created by traceOn(), which is closed when replaced.
+  private Tracer textTracer;
+  // URLs of buckets keyed by URL style, host, endpoint and bucket name.
+  private final Map<String, HttpUrl> bucketUrls = new ConcurrentHashMap<>();
 
   // the current client instance's base URL.
   private HttpUrl baseUrl;
@@ -228,6 +270,13 @@ public class MinioClient {
 
   private OkHttpClient httpClient;
 
+  private PartBufferPool partBufferPool;
+  private volatile BandwidthLimiter uploadLimiter;
+  private volatile BandwidthLimiter downloadLimiter;
+  private volatile HedgePolicy hedgePolicy;
+  private volatile EndpointPool endpointPool;
+  private volatile ChecksumMode checksumMode = ChecksumMode.MD5;
+
 
   /**
    * Creates MinIO client object with given endpoint using anonymous access.
@@ -760,7 +809,7 @@ public class MinioClient {
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    */
-  private void checkBucketName(String name) throws InvalidBucketNameException {
+  static void checkBucketName(String name) throws InvalidBucketNameException {
     if (name == null) {
       throw new InvalidBucketNameException(NULL_STRING, "null bucket name");
     }
@@ -771,13 +820,13 @@ public class MinioClient {
       throw new InvalidBucketNameException(name, msg);
     }
     // Successive periods in bucket names are not allowed.
-    if (name.matches("\\.\\.")) {
+    if (name.contains("..")) {
       String msg = "bucket name cannot contain successive periods. For more information refer "
           + "http://docs.aws.amazon.com/AmazonS3/latest/dev/BucketRestrictions.html";
       throw new InvalidBucketNameException(name, msg);
     }
     // Bucket names should be dns compatible.
-    if (!name.matches("^[a-z0-9][a-z0-9\\.\\-]+[a-z0-9]$")) {
+    if (!isDnsCompatible(name)) {
       String msg = "bucket name does not follow Amazon S3 standards. For more information refer "
           + "http://docs.aws.amazon.com/AmazonS3/latest/dev/BucketRestrictions.html";
       throw new InvalidBucketNameException(name, msg);
@@ -785,6 +834,22 @@ public class MinioClient {
   }
 
 
+  /**
+   * Returns true if given name starts and ends with lowercase letter or digit, and has lowercase letters, digits, '.'
+   * and '-' only.
+   */
+  private static boolean isDnsCompatible(String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean alphaNumeric = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+      if (!alphaNumeric && (i == 0 || i == name.length() - 1 || (c != '.' && c != '-'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+
   /**
    * Sets HTTP connect, write and read timeouts.  A value of 0 means no timeout, otherwise values must be between 1 and
    * Integer.MAX_VALUE when converted to milliseconds.
@@ -806,6 +871,134 @@ public class MinioClient {
   }
 
 
+  /**
+   * Sets part buffer pool used by stream uploads of this client.  Parts of a stream are read into buffers taken from
+   * the pool and the buffers are given back once the parts are uploaded, so that memory used by concurrent uploads is
+   * bounded by the pool.  The same pool may be shared by multiple clients.  Passing null makes each upload use its
+   * own buffer.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setPartBufferPool(new PartBufferPool(512L * 1024 * 1024, true)); }</pre>
+   *
+   * @param partBufferPool    Part buffer pool or null.
+   */
+  public void setPartBufferPool(PartBufferPool partBufferPool) {
+    this.partBufferPool = partBufferPool;
+  }
+
+
+  /**
+   * Sets bandwidth limiter of request bodies sent by this client, e.g. object and part uploads.  The same limiter may
+   * be shared by multiple clients.  Passing null removes the limit.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setUploadLimiter(new BandwidthLimiter(50L * 1024 * 1024)); }</pre>
+   *
+   * @param uploadLimiter    Bandwidth limiter or null.
+   */
+  public void setUploadLimiter(BandwidthLimiter uploadLimiter) {
+    this.uploadLimiter = uploadLimiter;
+  }
+
+
+  /**
+   * Sets bandwidth limiter of response bodies received by this client, e.g. object downloads.  The same limiter may
+   * be shared by multiple clients.  Passing null removes the limit.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setDownloadLimiter(new BandwidthLimiter(100L * 1024 * 1024)); }</pre>
+   *
+   * @param downloadLimiter    Bandwidth limiter or null.
+   */
+  public void setDownloadLimiter(BandwidthLimiter downloadLimiter) {
+    this.downloadLimiter = downloadLimiter;
+  }
+
+
+  /**
+   * Sets hedge policy of GET and HEAD requests of this client.  If response of such request has not arrived within
+   * the hedge delay of the policy, an identical request is sent and the first successful response is used.  A failure
+   * or server error response of one request waits for the other.  Passing null disables hedging.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setHedgePolicy(new HedgePolicy(95, 20, 2000)); }</pre>
+   *
+   * @param hedgePolicy    Hedge policy or null.
+   */
+  public void setHedgePolicy(HedgePolicy hedgePolicy) {
+    this.hedgePolicy = hedgePolicy;
+  }
+
+
+  /**
+   * Sets endpoint pool to spread requests of this client across nodes of a distributed deployment instead of the
+   * endpoint of this client.  Presigned URLs still use the endpoint of this client.  Passing null sends requests to
+   * the endpoint of this client again.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setEndpointPool(new EndpointPool(Arrays.asList("http://node1:9000", "http://node2:9000"),
+   *                                                EndpointPool.Strategy.LEAST_OUTSTANDING_REQUESTS, 5000)); }</pre>
+   *
+   * @param endpointPool    Endpoint pool or null.
+   */
+  public void setEndpointPool(EndpointPool endpointPool) {
+    this.endpointPool = endpointPool;
+  }
+
+
+  /**
+   * Sets checksum sent with request bodies for the server to verify integrity of uploaded data.  Default is
+   * {@link ChecksumMode#MD5}.  With {@link ChecksumMode#CRC32C}, CRC32C checksum is sent instead of MD5 hash where
+   * the server does not require MD5 hash, and object downloaded as a whole by
+   * {@link #getObject(String, String, Long, Long, ServerSideEncryption)} is verified by its CRC32C checksum if the
+   * server returns one.  Multipart uploads by put object and {@link MinioOutputStream} declare CRC32C checksum
+   * algorithm, and each part is sent with its CRC32C checksum computed while the part is read.  Parts uploaded by
+   * {@link PresignedMultipartUpload} are not given CRC32C checksum.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.setChecksumMode(ChecksumMode.CRC32C); }</pre>
+   *
+   * @param checksumMode    Checksum mode.
+   */
+  public void setChecksumMode(ChecksumMode checksumMode) {
+    if (checksumMode == null) {
+      throw new IllegalArgumentException("checksum mode cannot be null");
+    }
+    this.checksumMode = checksumMode;
+  }
+
+
+  /**
+   * Enables HTTP/2 so that concurrent requests of this client are multiplexed as streams over few connections instead
+   * of a connection per request.  For HTTPS endpoint, HTTP/2 is negotiated by ALPN and HTTP/1.1 is used if server does
+   * not support it.  For HTTP endpoint, HTTP/2 is used without negotiation (h2c with prior knowledge) only if
+   * priorKnowledge is true, which requires server to support it.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.enableHttp2(false); }</pre>
+   *
+   * @param priorKnowledge  If true, use HTTP/2 without negotiation for HTTP endpoint.
+   *
+   * @throws InvalidArgumentException  upon prior knowledge is requested for HTTPS endpoint.
+   */
+  public void enableHttp2(boolean priorKnowledge) throws InvalidArgumentException {
+    List<Protocol> protocols = new LinkedList<>();
+    if (priorKnowledge) {
+      if (this.baseUrl.isHttps()) {
+        throw new InvalidArgumentException("HTTP/2 with prior knowledge is not supported for HTTPS endpoint");
+      }
+      protocols.add(Protocol.H2_PRIOR_KNOWLEDGE);
+    } else {
+      protocols.add(Protocol.HTTP_2);
+      protocols.add(Protocol.HTTP_1_1);
+    }
+
+    this.httpClient = this.httpClient.newBuilder()
+      .protocols(protocols)
+      .build();
+  }
+
+
   /**
    * Ignores check on server certificate for HTTPS connection.
    *
@@ -866,42 +1059,50 @@ public class MinioClient {
                                 Object body, int length)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InvalidKeyException, InsufficientDataException,
            IOException, InternalException {
+    return createRequest(this.baseUrl, method, bucketName, objectName, region, headerMap, queryParamMap, contentType,
+                         body, length);
+  }
+
+
+  /**
+   * Creates Request object for given endpoint URL and request parameters.
+   */
+  private Request createRequest(HttpUrl endpointUrl, Method method, String bucketName, String objectName,
+                                String region, Multimap<String,String> headerMap,
+                                Multimap<String,String> queryParamMap, final String contentType,
+                                Object body, int length)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InvalidKeyException, InsufficientDataException,
+           IOException, InternalException {
     if (bucketName == null && objectName != null) {
       throw new InvalidBucketNameException(NULL_STRING, "null bucket name for object '" + objectName + "'");
     }
 
-    HttpUrl.Builder urlBuilder = this.baseUrl.newBuilder();
-    if (bucketName != null) {
-      checkBucketName(bucketName);
-
-      String host = this.baseUrl.host();
+    HttpUrl.Builder urlBuilder;
+    if (bucketName == null) {
+      urlBuilder = endpointUrl.newBuilder();
+    } else {
+      String host = endpointUrl.host();
+      boolean usePathStyle = true;
       if (host.equals(S3_AMAZONAWS_COM)) {
         // special case: handle s3.amazonaws.com separately
         if (region != null) {
           host = AwsS3Endpoints.INSTANCE.endpoint(region);
         }
 
-        boolean usePathStyle = false;
+        usePathStyle = false;
         if (method == Method.PUT && objectName == null && queryParamMap == null) {
           // use path style for make bucket to workaround "AuthorizationHeaderMalformed" error from s3.amazonaws.com
           usePathStyle = true;
         } else if (queryParamMap != null && queryParamMap.containsKey("location")) {
           // use path style for location query
           usePathStyle = true;
-        } else if (bucketName.contains(".") && this.baseUrl.isHttps()) {
+        } else if (bucketName.contains(".") && endpointUrl.isHttps()) {
           // use path style where '.' in bucketName causes SSL certificate validation error
           usePathStyle = true;
         }
-
-        if (usePathStyle) {
-          urlBuilder.host(host);
-          urlBuilder.addEncodedPathSegment(S3Escaper.encode(bucketName));
-        } else {
-          urlBuilder.host(bucketName + "." + host);
-        }
-      } else {
-        urlBuilder.addEncodedPathSegment(S3Escaper.encode(bucketName));
       }
+
+      urlBuilder = bucketUrl(endpointUrl, bucketName, host, usePathStyle).newBuilder();
     }
 
     if (objectName != null) {
@@ -927,7 +1128,14 @@ public class MinioClient {
 
     String sha256Hash = null;
     String md5Hash = null;
+    String crc32cHash = null;
     boolean chunkedUpload = false;
+    // CRC32C checksum of a part is given by the caller as it requires the checksum algorithm declared when the
+    // multipart upload is created, else the part is sent with MD5 hash.
+    boolean part = queryParamMap != null && queryParamMap.containsKey(UPLOAD_ID)
+        && queryParamMap.containsKey("partNumber");
+    boolean crc32c = checksumMode == ChecksumMode.CRC32C && !part;
+    boolean checksumGiven = headerMap != null && headerMap.containsKey("x-amz-checksum-crc32c");
     if (this.accessKey != null && this.secretKey != null) {
       // Handle putobject specially to use chunked upload.
       if (method == Method.PUT && objectName != null && body != null && body instanceof InputStream && length > 0) {
@@ -947,7 +1155,11 @@ public class MinioClient {
         // Fix issue #415: No need to compute sha256 if endpoint scheme is HTTPS.
         sha256Hash = "UNSIGNED-PAYLOAD";
         if (body != null) {
-          md5Hash = Digest.md5Hash(body, length);
+          if (crc32c) {
+            crc32cHash = Digest.crc32cHash(body, length);
+          } else if (!checksumGiven) {
+            md5Hash = Digest.md5Hash(body, length);
+          }
         }
       } else {
         Object data = body;
@@ -974,13 +1186,20 @@ public class MinioClient {
     } else {
       // Fix issue #567: Compute MD5 hash only for anonymous access.
       if (body != null) {
-        md5Hash = Digest.md5Hash(body, length);
+        if (crc32c) {
+          crc32cHash = Digest.crc32cHash(body, length);
+        } else if (!checksumGiven) {
+          md5Hash = Digest.md5Hash(body, length);
+        }
       }
     }
 
     if (md5Hash != null) {
       requestBuilder.header("Content-MD5", md5Hash);
     }
+    if (crc32cHash != null) {
+      requestBuilder.header("x-amz-checksum-crc32c", crc32cHash);
+    }
     if (this.shouldOmitPortInHostHeader(url)) {
       requestBuilder.header("Host", url.host());
     } else {
@@ -990,8 +1209,9 @@ public class MinioClient {
     if (sha256Hash != null) {
       requestBuilder.header("x-amz-content-sha256", sha256Hash);
     }
-    DateTime date = new DateTime();
-    requestBuilder.header("x-amz-date", date.toString(DateFormat.AMZ_DATE_FORMAT));
+    AmzDate amzDate = amzDate();
+    DateTime date = amzDate.date;
+    requestBuilder.header("x-amz-date", amzDate.value);
 
     if (chunkedUpload) {
       // Add empty request body for calculating seed signature.
@@ -1009,7 +1229,7 @@ public class MinioClient {
 
     RequestBody requestBody = null;
     if (body != null) {
-      requestBody = new HttpRequestBody(contentType, body, length);
+      requestBody = new HttpRequestBody(contentType, body, length, uploadLimiter);
     }
 
     requestBuilder.method(method.toString(), requestBody);
@@ -1017,6 +1237,51 @@ public class MinioClient {
   }
 
 
+  /**
+   * Returns URL of given bucket on given endpoint, host and URL style.  URLs are cached, so bucket name is validated
+   * and escaped once.
+   */
+  private HttpUrl bucketUrl(HttpUrl endpointUrl, String bucketName, String host, boolean usePathStyle)
+    throws InvalidBucketNameException {
+    String key = (usePathStyle ? "path " : "host ") + host + " " + endpointUrl + " " + bucketName;
+    HttpUrl url = bucketUrls.get(key);
+    if (url != null) {
+      return url;
+    }
+
+    checkBucketName(bucketName);
+
+    HttpUrl.Builder urlBuilder = endpointUrl.newBuilder();
+    if (usePathStyle) {
+      urlBuilder.host(host);
+      urlBuilder.addEncodedPathSegment(S3Escaper.encode(bucketName));
+    } else {
+      urlBuilder.host(bucketName + "." + host);
+    }
+    url = urlBuilder.build();
+
+    if (bucketUrls.size() >= MAX_BUCKET_URLS) {
+      bucketUrls.clear();
+    }
+    bucketUrls.put(key, url);
+    return url;
+  }
+
+
+  /**
+   * Returns x-amz-date of current time, which is formatted once per second.
+   */
+  private static AmzDate amzDate() {
+    long second = System.currentTimeMillis() / 1000;
+    AmzDate amzDate = currentAmzDate;
+    if (amzDate.second != second) {
+      amzDate = new AmzDate(second);
+      currentAmzDate = amzDate;
+    }
+    return amzDate;
+  }
+
+
   /**
    * Checks whether port should be omitted in Host header.
    *
@@ -1078,46 +1343,79 @@ public class MinioClient {
     if (headerMap != null && headerMap.get("Content-Type") != null) {
       contentType = String.join(" ", headerMap.get("Content-Type"));
     }
-    if (body != null && !(body instanceof InputStream || body instanceof RandomAccessFile || body instanceof byte[])) {
+    if (body != null && !(body instanceof InputStream || body instanceof RandomAccessFile || body instanceof byte[]
+                          || body instanceof ByteBuffer)) {
       byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
       body = bytes;
       length = bytes.length;
     }
 
-    Request request = createRequest(method, bucketName, objectName, region,
-                                    headerMap, queryParamMap,
-                                    contentType, body, length);
-
-    if (this.accessKey != null && this.secretKey != null) {
-      request = Signer.signV4(request, region, accessKey, secretKey);
+    EndpointPool pool = this.endpointPool;
+    EndpointPool.Node node = null;
+    HttpUrl endpointUrl = this.baseUrl;
+    if (pool != null) {
+      node = pool.select();
+      endpointUrl = node.url();
     }
 
-    if (this.traceStream != null) {
-      this.traceStream.println("---------START-HTTP---------");
-      String encodedPath = request.url().encodedPath();
-      String encodedQuery = request.url().encodedQuery();
-      if (encodedQuery != null) {
-        encodedPath += "?" + encodedQuery;
+    Request request;
+    try {
+      request = createRequest(endpointUrl, method, bucketName, objectName, region,
+                              headerMap, queryParamMap,
+                              contentType, body, length);
+      if (this.accessKey != null && this.secretKey != null) {
+        request = Signer.signV4(request, region, accessKey, secretKey);
       }
-      this.traceStream.println(request.method() + " " + encodedPath + " HTTP/1.1");
-      String headers = request.headers().toString()
-          .replaceAll("Signature=([0-9a-f]+)", "Signature=*REDACTED*")
-          .replaceAll("Credential=([^/]+)", "Credential=*REDACTED*");
-      this.traceStream.println(headers);
+    } catch (Exception e) {
+      // the request is not sent, so failure of reading the body or signing does not eject the node.
+      if (node != null) {
+        pool.release(node);
+      }
+      throw e;
+    }
+
+    Tracer tracer = this.tracer;
+    boolean sampled = false;
+    long startTime = 0;
+    if (tracer != null) {
+      sampled = tracer.sample();
+      startTime = System.currentTimeMillis();
     }
+    long startNanos = System.nanoTime();
 
-    Response response = this.httpClient.newCall(request).execute();
-    if (this.traceStream != null) {
-      this.traceStream.println(response.protocol().toString().toUpperCase(Locale.US) + " " + response.code());
-      this.traceStream.println(response.headers());
+    Response response;
+    HedgePolicy policy = this.hedgePolicy;
+    try {
+      if (policy != null && (method.equals(Method.GET) || method.equals(Method.HEAD))) {
+        response = new HedgedCall(this.httpClient, request, policy).execute();
+      } else {
+        response = this.httpClient.newCall(request).execute();
+      }
+    } catch (IOException | RuntimeException e) {
+      if (node != null) {
+        pool.failed(node, e);
+      }
+      trace(tracer, sampled, startTime, System.nanoTime() - startNanos, request, length, null, e.toString());
+      throw e;
+    }
+    long durationNanos = System.nanoTime() - startNanos;
+    if (node != null) {
+      response = pool.track(node, response);
     }
 
     ResponseHeader header = new ResponseHeader();
     HeaderParser.set(response.headers(), header);
 
     if (response.isSuccessful()) {
-      if (this.traceStream != null) {
-        this.traceStream.println(END_HTTP);
+      trace(tracer, sampled, startTime, durationNanos, request, length, response, null);
+
+      BandwidthLimiter limiter = this.downloadLimiter;
+      if (limiter != null && !method.equals(Method.HEAD)) {
+        ResponseBody responseBody = response.body();
+        response = response.newBuilder()
+            .body(ResponseBody.create(responseBody.contentType(), responseBody.contentLength(),
+                                      Okio.buffer(limiter.source(responseBody.source()))))
+            .build();
       }
       return new HttpResponse(header, response);
     }
@@ -1135,24 +1433,21 @@ public class MinioClient {
         if (scanner.hasNext()) {
           errorXml = scanner.next();
         }
-        
+        trace(tracer, sampled, startTime, durationNanos, request, length, response, errorXml);
+
         // Error in case of Non-XML response from server
         if (!("application/xml".equals(response.headers().get("content-type")))) {
           throw new InvalidResponseException();
         }
         errorResponse = new ErrorResponse(new StringReader(errorXml));
-        if (this.traceStream != null) {
-          this.traceStream.println(errorXml);
-        }
-
       } finally {
         response.body().close();
         scanner.close();
       }
-    }
-
-    if (this.traceStream != null) {
-      this.traceStream.println(END_HTTP);
+    } else {
+      trace(tracer, sampled, startTime, durationNanos, request, length, response, null);
+      // close empty body to finish the request as the response is not returned.
+      response.body().close();
     }
 
     if (errorResponse == null) {
@@ -1187,6 +1482,9 @@ public class MinioClient {
         case 403:
           ec = ErrorCode.ACCESS_DENIED;
           break;
+        case 412:
+          ec = ErrorCode.PRECONDITION_FAILED;
+          break;
         default:
           throw new InternalException("unhandled HTTP code " + response.code() + ".  Please report this issue at "
                                       + "https://github.com/minio/minio-java/issues");
@@ -1206,6 +1504,42 @@ public class MinioClient {
     throw new ErrorResponseException(errorResponse, response);
   }
 
+  /**
+   * Submits trace record of given call to given tracer if the call is traced.
+   */
+  private static void trace(Tracer tracer, boolean sampled, long startTime, long durationNanos, Request request,
+                            long requestBytes, Response response, String error) {
+    if (tracer == null || !tracer.traced(sampled, durationNanos)) {
+      return;
+    }
+
+    String url = request.url().encodedPath();
+    String encodedQuery = request.url().encodedQuery();
+    if (encodedQuery != null) {
+      url += "?" + encodedQuery;
+    }
+
+    if (response == null) {
+      tracer.submit(new TraceRecord(startTime, durationNanos, request.method(), url, null, 0, null, requestBytes, -1,
+                                    request.headers(), null, error));
+      return;
+    }
+
+    long responseBytes = -1;
+    String contentLength = response.header("Content-Length");
+    if (contentLength != null) {
+      try {
+        responseBytes = Long.parseLong(contentLength);
+      } catch (NumberFormatException e) {
+        // ignore as content length is unknown.
+      }
+    }
+    tracer.submit(new TraceRecord(startTime, durationNanos, request.method(), url, response.protocol().toString(),
+                                  response.code(), response.header("x-amz-request-id"), requestBytes, responseBytes,
+                                  request.headers(), response.headers(), error));
+  }
+
+
   /**
    * Updates Region cache for given bucket.
    */
@@ -1822,8 +2156,9 @@ public class MinioClient {
       offset = 0L;
     }
 
+    boolean verifyChecksum = offset == null && checksumMode == ChecksumMode.CRC32C;
     Map<String,String> headerMap = null;
-    if (offset != null || length != null || sse != null) {
+    if (offset != null || length != null || sse != null || verifyChecksum) {
       headerMap = new HashMap<>();
     }
 
@@ -1837,20 +2172,39 @@ public class MinioClient {
       headerMap.putAll(sse.headers());
     }
 
+    if (verifyChecksum) {
+      headerMap.put("x-amz-checksum-mode", "ENABLED");
+    }
+
     HttpResponse response = executeGet(bucketName, objectName, headerMap, null);
+    String crc32c = response.response().header("x-amz-checksum-crc32c");
+    // checksum of object uploaded by multipart upload is checksum of part checksums, which is not verifiable here.
+    if (verifyChecksum && crc32c != null && !crc32c.contains("-")) {
+      return new ChecksumInputStream(response.body().byteStream(), crc32c);
+    }
     return response.body().byteStream();
   }
 
 
   /**
-   * Gets object's data in the given bucket and stores it to given file name.
+   * Gets data of given object as a stream verifying the data against ETag of the object.  Size of each part of an
+   * object uploaded by multipart upload is looked up by HEAD request of the part number, and MD5 of each part is
+   * computed as data is read.  Reading fails with {@link IOException} if data does not match the ETag, before end of
+   * stream is returned.  Objects encrypted by KMS or SSE-C are not verifiable as their ETags are not MD5 of data.
    *
    * </p><b>Example:</b><br>
-   * <pre>{@code minioClient.getObject("my-bucketname", "my-objectname", "photo.jpg"); }</pre>
+   * <pre>{@code InputStream stream = minioClient.getObjectVerified("my-bucketname", "my-objectname");
+   * byte[] buf = new byte[16384];
+   * int bytesRead;
+   * while ((bytesRead = stream.read(buf, 0, buf.length)) >= 0) {
+   *   System.out.println(new String(buf, 0, bytesRead));
+   * }
+   * stream.close(); }</pre>
    *
    * @param bucketName  Bucket name.
    * @param objectName  Object name in the bucket.
-   * @param fileName    file name.
+   *
+   * @return {@link InputStream} containing the object's data.
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    * @throws NoSuchAlgorithmException
@@ -1864,90 +2218,462 @@ public class MinioClient {
    * @throws XmlPullParserException      upon parsing response xml
    * @throws ErrorResponseException      upon unsuccessful execution
    * @throws InternalException           upon internal library error
-   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidArgumentException    upon invalid value is passed to a method or ETag is not verifiable.
    * @throws InvalidResponseException    upon a non-xml response from server
    */
-  public void getObject(String bucketName, String objectName, String fileName)
+  public InputStream getObjectVerified(String bucketName, String objectName)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidArgumentException, InvalidResponseException {
-    getObject(bucketName, objectName, null, fileName);
+    checkBucketName(bucketName);
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
+    }
+
+    PartLayout layout = PartLayout.of(this, bucketName, objectName, VERIFY_PARALLELISM);
+
+    // fail if the object is replaced after its parts are looked up.
+    Map<String,String> headerMap = new HashMap<>();
+    headerMap.put("If-Match", "\"" + layout.etag() + "\"");
+    HttpResponse response = executeGet(bucketName, objectName, headerMap, null);
+    return new VerifiedInputStream(response.body().byteStream(), layout);
   }
 
 
   /**
-   * Gets encrypted object's data in the given bucket and stores it to given file name.
+   * Downloads given object to given file by parallel ranged requests of its parts, verifying each part as it is
+   * written.  MD5 of each part is computed while the part is written at its offset of a temporary file, and the file
+   * is replaced by the temporary file only when MD5s of parts match ETag of the object.
    *
    * </p><b>Example:</b><br>
-   * <pre>{@code minioClient.getObject("my-bucketname", "my-objectname", sse, "photo.jpg"); }</pre>
+   * <pre>{@code minioClient.downloadObjectVerified("my-bucketname", "my-objectname", "/data/my-object", 8); }</pre>
    *
-   * @param bucketName  Bucket name.
-   * @param objectName  Object name in the bucket.
-   * @param sse         encryption metadata.
-   * @param fileName    file name to download into.
+   * @param bucketName   Bucket name.
+   * @param objectName   Object name in the bucket.
+   * @param fileName     File name to download into.
+   * @param parallelism  Maximum number of parts downloaded at a time.
    *
+   * @return number of bytes downloaded.
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    * @throws NoSuchAlgorithmException
    *           upon requested algorithm was not found during signature calculation
    * @throws InsufficientDataException  upon getting EOFException while reading given
    *           InputStream even before reading given length
-   * @throws IOException                 upon connection error
+   * @throws IOException                 upon connection error, failure of writing the file or ETag mismatch
    * @throws InvalidKeyException
    *           upon an invalid access key or secret key
    * @throws NoResponseException         upon no response from server
    * @throws XmlPullParserException      upon parsing response xml
    * @throws ErrorResponseException      upon unsuccessful execution
    * @throws InternalException           upon internal library error
-   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidArgumentException    upon invalid value is passed to a method or ETag is not verifiable.
    * @throws InvalidResponseException    upon a non-xml response from server
    */
-  public void getObject(String bucketName, String objectName, ServerSideEncryption sse, String fileName)
-          throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
-          InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
-          InternalException, InvalidArgumentException, InvalidResponseException {
-    checkReadRequestSse(sse);
+  public long downloadObjectVerified(String bucketName, String objectName, String fileName, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    checkBucketName(bucketName);
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
+    }
 
     Path filePath = Paths.get(fileName);
-    boolean fileExists = Files.exists(filePath);
-
-    if (fileExists && !Files.isRegularFile(filePath)) {
+    if (Files.exists(filePath) && !Files.isRegularFile(filePath)) {
       throw new InvalidArgumentException(fileName + ": not a regular file");
     }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
 
-    ObjectStat objectStat = statObject(bucketName, objectName, sse);
-    long length = objectStat.length();
-    String etag = objectStat.etag();
+    return new VerifiedDownload(this, bucketName, objectName, filePath, parallelism).run();
+  }
 
-    String tempFileName = fileName + "." + etag + ".part.minio";
-    Path tempFilePath = Paths.get(tempFileName);
-    boolean tempFileExists = Files.exists(tempFilePath);
 
-    if (tempFileExists && !Files.isRegularFile(tempFilePath)) {
-      throw new IOException(tempFileName + ": not a regular file");
+  /**
+   * Returns ETag of given file as if it is uploaded by parts of given size.  A file not larger than the part size has
+   * MD5 of its content as ETag, and a larger file has MD5 of MD5s of its parts followed by '-' and number of parts.
+   * Parts are hashed in parallel by memory-mapped reads of the file.  Non-positive part size uses the part size of
+   * {@link #putObject(String, String, String)}.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code String etag = minioClient.calculateEtag("/data/my-object", 0, 4);
+   * System.out.println(etag); }</pre>
+   *
+   * @param fileName     File name to compute ETag of.
+   * @param partSize     Part size, or zero for the part size of {@link #putObject(String, String, String)}.
+   * @param parallelism  Maximum number of parts hashed at a time.
+   *
+   * @return ETag of the file without quotes.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon failure of reading the file
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public String calculateEtag(String fileName, long partSize, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    Path filePath = Paths.get(fileName);
+    if (!Files.isRegularFile(filePath)) {
+      throw new InvalidArgumentException(fileName + ": not a regular file");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
     }
 
-    long tempFileSize = 0;
-    if (tempFileExists) {
-      tempFileSize = Files.size(tempFilePath);
-      if (tempFileSize > length) {
-        Files.delete(tempFilePath);
-        tempFileExists = false;
-        tempFileSize = 0;
-      }
+    long size = Files.size(filePath);
+    if (partSize <= 0) {
+      partSize = uploadPartSize(size);
+    } else if (partSize < MIN_MULTIPART_SIZE && partSize < size) {
+      throw new InvalidArgumentException("part size must be at least " + MIN_MULTIPART_SIZE);
+    } else if ((size - 1) / partSize >= MAX_MULTIPART_COUNT) {
+      throw new InvalidArgumentException("part size " + partSize + " makes more than " + MAX_MULTIPART_COUNT
+                                         + " parts");
     }
 
-    if (fileExists) {
-      long fileSize = Files.size(filePath);
-      if (fileSize == length) {
-        // already downloaded. nothing to do
-        return;
-      } else if (fileSize > length) {
-        throw new InvalidArgumentException("Source object, '" + objectName + "', size:" + length
-                + " is smaller than the destination file, '" + fileName + "', size:" + fileSize);
-      } else if (!tempFileExists) {
-        // before resuming the download, copy filename to tempfilename
-        Files.copy(filePath, tempFilePath);
+    return FileEtag.compute(filePath, size, partSize, parallelism);
+  }
+
+
+  /**
+   * Uploads given file to given object unless the object has the same size and ETag as the file.  ETag of the file is
+   * computed with the same part layout as ETag of the object, so that an object uploaded by
+   * {@link #putObject(String, String, String)} in multiple parts is compared without downloading it.  The file is
+   * uploaded when the object is missing, encrypted by KMS, or its parts are not of the size
+   * {@link #putObject(String, String, String)} uses.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code String fileName = "/data/my-object";
+   * boolean uploaded = minioClient.putObjectIfChanged("my-bucketname", "my-objectname", fileName, 4);
+   * System.out.println(uploaded ? "uploaded" : "unchanged"); }</pre>
+   *
+   * @param bucketName   Bucket name.
+   * @param objectName   Object name to create in the bucket.
+   * @param fileName     File name to upload.
+   * @param parallelism  Maximum number of parts hashed at a time.
+   *
+   * @return true if the file is uploaded, false if the object is unchanged.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error or failure of reading the file
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public boolean putObjectIfChanged(String bucketName, String objectName, String fileName, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    Path filePath = Paths.get(fileName);
+    if (!Files.isRegularFile(filePath)) {
+      throw new InvalidArgumentException(fileName + ": not a regular file");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
+
+    if (!isChanged(bucketName, objectName, filePath, parallelism)) {
+      return false;
+    }
+
+    putObject(bucketName, objectName, fileName);
+    return true;
+  }
+
+
+  private boolean isChanged(String bucketName, String objectName, Path filePath, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    ObjectStat stat;
+    try {
+      stat = statObject(bucketName, objectName);
+    } catch (ErrorResponseException e) {
+      if (e.errorResponse().errorCode() != ErrorCode.NO_SUCH_KEY) {
+        throw e;
+      }
+      return true;
+    }
+
+    List<String> sse = stat.httpHeaders().get("x-amz-server-side-encryption");
+    long size = Files.size(filePath);
+    if ((sse != null && sse.contains("aws:kms")) || stat.length() != size) {
+      return true;
+    }
+
+    String etag = FileEtag.compute(filePath, size, stat.etag(), parallelism);
+    return etag == null || !FileEtag.sameEtag(etag, stat.etag());
+  }
+
+
+  /**
+   * Returns data of given range of given object of given ETag.  The request fails by
+   * {@link ErrorCode#PRECONDITION_FAILED} if the object is replaced.
+   */
+  InputStream getObjectRange(String bucketName, String objectName, long offset, long length, String etag)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidResponseException {
+    Map<String,String> headerMap = new HashMap<>();
+    headerMap.put("Range", "bytes=" + offset + "-" + (offset + length - 1));
+    headerMap.put("If-Match", "\"" + etag + "\"");
+    HttpResponse response = executeGet(bucketName, objectName, headerMap, null);
+    return response.body().byteStream();
+  }
+
+
+  /**
+   * Returns size of given part number of given object of given ETag by HEAD request of the part number.
+   */
+  long partLength(String bucketName, String objectName, int partNumber, String etag)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidResponseException {
+    Map<String,String> headerMap = new HashMap<>();
+    headerMap.put("If-Match", "\"" + etag + "\"");
+    Map<String,String> queryParamMap = new HashMap<>();
+    queryParamMap.put("partNumber", Integer.toString(partNumber));
+
+    HttpResponse response = execute(Method.HEAD, getRegion(bucketName), bucketName, objectName, headerMap,
+                                    queryParamMap, null, 0);
+    response.body().close();
+    return response.header().contentLength();
+  }
+
+
+  /**
+   * Returns a publisher of data of given object as chunks of bytes read as they are requested.
+   * <p>
+   * The object is requested upon first demand of each subscriber and a chunk is read only when requested.  Reading is
+   * done on worker threads, so neither subscriber nor thread requesting chunks is blocked.  Cancelling the
+   * subscription closes the response.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code Flow.Publisher<ByteBuffer> publisher = minioClient.getObjectPublisher("my-bucketname", "my-objectname",
+   *                                                                    64 * 1024);
+   * publisher.subscribe(subscriber); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param chunkSize   Maximum number of bytes of a chunk.
+   *
+   * @return {@link Flow.Publisher} of {@link ByteBuffer} chunks.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public Flow.Publisher<ByteBuffer> getObjectPublisher(String bucketName, String objectName, int chunkSize)
+    throws InvalidBucketNameException, InvalidArgumentException {
+    checkBucketName(bucketName);
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
+    }
+    if (chunkSize < 1) {
+      throw new InvalidArgumentException("chunk size must be at least 1");
+    }
+
+    return new ObjectPublisher(this, bucketName, objectName, chunkSize);
+  }
+
+
+  /**
+   * Gets object's data in the given bucket and stores it to given file name.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.getObject("my-bucketname", "my-objectname", "photo.jpg"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param fileName    file name.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public void getObject(String bucketName, String objectName, String fileName)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    getObject(bucketName, objectName, null, fileName);
+  }
+
+
+  /**
+   * Gets encrypted object's data in the given bucket and stores it to given file name.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.getObject("my-bucketname", "my-objectname", sse, "photo.jpg"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param sse         encryption metadata.
+   * @param fileName    file name to download into.
+   *
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public void getObject(String bucketName, String objectName, ServerSideEncryption sse, String fileName)
+          throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+          InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+          InternalException, InvalidArgumentException, InvalidResponseException {
+    checkReadRequestSse(sse);
+
+    Path filePath = Paths.get(fileName);
+    if (Files.exists(filePath) && !Files.isRegularFile(filePath)) {
+      throw new InvalidArgumentException(fileName + ": not a regular file");
+    }
+
+    ObjectStat objectStat = statObject(bucketName, objectName, sse);
+    downloadObject(bucketName, objectName, sse, filePath, objectStat.length(), objectStat.etag());
+  }
+
+
+  /**
+   * Downloads objects of given prefix in given bucket to given directory. File path of an object is the directory
+   * followed by the object name without the prefix part up to its last slash; e.g. object {@code photos/2019/a.jpg}
+   * of prefix {@code photos/} is downloaded to {@code <dirName>/2019/a.jpg}. Objects are downloaded as they are
+   * listed, with at most given number of objects being downloaded at a time. Each download resumes from its
+   * temporary file same as {@link #getObject(String, String, String)}. Objects failed to download are reported in the
+   * result.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code DownloadResult result = minioClient.downloadPrefix("my-bucketname", "photos/", "/restore/photos", 16);
+   * System.out.println(result.downloadedObjects() + " downloaded at " + result.bytesPerSecond() + " bytes/s"); }</pre>
+   *
+   * @param bucketName   Bucket name.
+   * @param prefix       Prefix of objects to download.
+   * @param dirName      Directory to download to.
+   * @param parallelism  Maximum number of objects downloaded at a time.
+   *
+   * @return {@link DownloadResult} having counters, throughput and errors of the download.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public DownloadResult downloadPrefix(String bucketName, String prefix, String dirName, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    checkBucketName(bucketName);
+    if (dirName == null || "".equals(dirName)) {
+      throw new InvalidArgumentException("empty directory name is not allowed");
+    }
+
+    Path dir = Paths.get(dirName);
+    if (Files.exists(dir) && !Files.isDirectory(dir)) {
+      throw new InvalidArgumentException("'" + dirName + "': not a directory");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
+
+    return new PrefixDownload(this, bucketName, prefix, dir, parallelism).run();
+  }
+
+
+  /**
+   * Downloads object of given length and ETag to given file and returns number of bytes downloaded. Download is
+   * resumed from temporary file named by the file name and the ETag if it exists.
+   */
+  long downloadObject(String bucketName, String objectName, ServerSideEncryption sse, Path filePath, long length,
+                      String etag)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    String fileName = filePath.toString();
+    boolean fileExists = Files.exists(filePath);
+    if (fileExists && !Files.isRegularFile(filePath)) {
+      throw new InvalidArgumentException(fileName + ": not a regular file");
+    }
+
+    String tempFileName = fileName + "." + etag + ".part.minio";
+    Path tempFilePath = Paths.get(tempFileName);
+    boolean tempFileExists = Files.exists(tempFilePath);
+
+    if (tempFileExists && !Files.isRegularFile(tempFilePath)) {
+      throw new IOException(tempFileName + ": not a regular file");
+    }
+
+    long tempFileSize = 0;
+    if (tempFileExists) {
+      tempFileSize = Files.size(tempFilePath);
+      if (tempFileSize > length) {
+        Files.delete(tempFilePath);
+        tempFileExists = false;
+        tempFileSize = 0;
+      }
+    }
+
+    if (fileExists) {
+      long fileSize = Files.size(filePath);
+      if (fileSize == length) {
+        // already downloaded. nothing to do
+        return 0;
+      } else if (fileSize > length) {
+        throw new InvalidArgumentException("Source object, '" + objectName + "', size:" + length
+                + " is smaller than the destination file, '" + fileName + "', size:" + fileSize);
+      } else if (!tempFileExists) {
+        // before resuming the download, copy filename to tempfilename
+        Files.copy(filePath, tempFilePath);
         tempFileSize = fileSize;
         tempFileExists = true;
       }
@@ -1967,6 +2693,7 @@ public class MinioClient {
                 + ", written = " + bytesWritten);
       }
       Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+      return bytesWritten;
     } finally {
       if (is != null) {
         is.close();
@@ -2290,6 +3017,8 @@ public class MinioClient {
    * Copy a source object into a new object with the provided name in the provided bucket.
    * optionally can take a key value CopyConditions and server side encryption as well for
    * conditionally attempting copyObject.
+   * If the source object is larger than 5GiB and no x-amz-copy-source-range header is given, the object is copied by
+   * multipart upload with parts copied concurrently.
    *
    * </p>
    * <b>Example:</b><br>
@@ -2358,6 +3087,16 @@ public class MinioClient {
 
     checkReadRequestSse(srcSse);
 
+    if (getHeader(headerMap, "x-amz-copy-source-range") == null) {
+      // CopyObject is limited to 5GiB source, copy larger source by multipart upload.
+      ObjectStat stat = statObject(srcBucketName, srcObjectName, srcSse);
+      if (stat.length() > MAX_PART_SIZE) {
+        copyObjectInParts(bucketName, objectName, headerMap, sse, srcBucketName, srcObjectName, srcSse,
+                          copyConditions, stat);
+        return;
+      }
+    }
+
     if (headerMap == null) {
       headerMap = new HashMap<>();
     }
@@ -2385,8 +3124,102 @@ public class MinioClient {
     }
   }
 
+  /**
+   * Copies given source object larger than 5GiB by multipart upload where ranges of the source are copied by
+   * UploadPartCopy concurrently. Source metadata is copied unless metadata directive is REPLACE, and the source is
+   * pinned by its ETag unless a match condition is given.
+   */
+  private void copyObjectInParts(String bucketName, String objectName, Map<String,String> headerMap,
+                                 ServerSideEncryption sse, String srcBucketName, String srcObjectName,
+                                 ServerSideEncryption srcSse, CopyConditions copyConditions, ObjectStat stat)
+    throws InvalidKeyException, InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException,
+           NoResponseException, ErrorResponseException, InternalException, IOException, XmlPullParserException,
+           InvalidArgumentException, InvalidResponseException {
+    boolean replaceMetadata = "REPLACE".equalsIgnoreCase(getHeader(headerMap, "x-amz-metadata-directive"));
+
+    Map<String, String> uploadHeaders = new HashMap<>();
+    Map<String, String> copyHeaders = new HashMap<>();
+    if (!replaceMetadata && stat.httpHeaders() != null) {
+      for (Map.Entry<String, List<String>> entry : stat.httpHeaders().entrySet()) {
+        if (isMetadataHeader(entry.getKey())) {
+          uploadHeaders.put(entry.getKey(), String.join(",", entry.getValue()));
+        }
+      }
+    }
+
+    if (headerMap != null) {
+      for (Map.Entry<String, String> entry : headerMap.entrySet()) {
+        String key = entry.getKey().toLowerCase(Locale.US);
+        if (key.startsWith("x-amz-copy-source")) {
+          copyHeaders.put(key, entry.getValue());
+        } else if (!key.equals("x-amz-metadata-directive") && (replaceMetadata || !isMetadataHeader(key))) {
+          uploadHeaders.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+
+    copyHeaders.put("x-amz-copy-source", S3Escaper.encodePath(srcBucketName + "/" + srcObjectName));
+    if (srcSse != null) {
+      copyHeaders.putAll(srcSse.copySourceHeaders());
+    }
+    if (copyConditions != null) {
+      copyHeaders.putAll(copyConditions.getConditions());
+    }
+    if (getHeader(copyHeaders, "x-amz-copy-source-if-match") == null) {
+      copyHeaders.put("x-amz-copy-source-if-match", stat.etag());
+    }
+
+    if (sse != null) {
+      uploadHeaders.putAll(sse.headers());
+      // In multi-part uploads, set encryption headers in the case of SSE-C.
+      if (sse.type() == ServerSideEncryption.Type.SSE_C) {
+        copyHeaders.putAll(sse.headers());
+      }
+    }
+
+    long size = stat.length();
+    long partSize = Math.max(calculateMultipartSize(size)[0], MIN_MULTIPART_COPY_PART_SIZE);
+    List<Map<String, String>> partHeaders = new ArrayList<>();
+    for (long offset = 0; offset < size; offset += partSize) {
+      Map<String, String> headers = new HashMap<>(copyHeaders);
+      headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (Math.min(offset + partSize, size) - 1));
+      partHeaders.add(headers);
+    }
+
+    copyParts(bucketName, objectName, uploadHeaders, partHeaders, DEFAULT_COPY_PARALLELISM);
+  }
+
+
+  /**
+   * Returns true if given header is object metadata which is copied by CopyObject.
+   */
+  private static boolean isMetadataHeader(String name) {
+    String key = name.toLowerCase(Locale.US);
+    return (standardHeaders.contains(key) && !key.equals("range")) || key.startsWith("x-amz-meta-");
+  }
+
+
+  /**
+   * Returns value of given header name in given map case-insensitively, or null if not found.
+   */
+  private static String getHeader(Map<String, String> headerMap, String name) {
+    if (headerMap == null) {
+      return null;
+    }
+
+    for (Map.Entry<String, String> entry : headerMap.entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(name)) {
+        return entry.getValue();
+      }
+    }
+
+    return null;
+  }
+
+
   /**
    * Create an object by concatenating a list of source objects using server-side copying.
+   * Sources are stat'ed and parts are copied with at most 4 requests at a time.
    * </p>
    * <b>Example:</b><br>   *
    * <pre>
@@ -2421,12 +3254,58 @@ public class MinioClient {
    * @throws InvalidArgumentException    upon invalid value is passed to a method.
    * @throws InvalidResponseException    upon a non-xml response from server
    */
-
   public void composeObject(String bucketName, String objectName, List<ComposeSource> sources,
       Map<String,String> headerMap, ServerSideEncryption sse)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
     InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
     InternalException, InvalidArgumentException, InvalidResponseException {
+    composeObject(bucketName, objectName, sources, headerMap, sse, DEFAULT_COPY_PARALLELISM);
+  }
+
+
+  /**
+   * Create an object by concatenating a list of source objects using server-side copying with at most given number
+   * of requests running at a time. Sources are stat'ed concurrently and each part is copied by its own UploadPartCopy
+   * request; parts are completed in source order.
+   * </p>
+   * <b>Example:</b><br>
+   * <pre>
+   * {@code minioClient.composeObject("my-bucketname", "my-objectname", sources, null, null, 16);}
+   * </pre>
+   *
+   * @param bucketName
+   *          Destination Bucket to be created upon compose.
+   * @param objectName
+   *          Destination Object to be created upon compose.
+   * @param sources
+   *          List of Source Objects used to compose Object.
+   * @param headerMap
+   *          User Meta data.
+   * @param sse
+   *          Server Side Encryption.
+   * @param parallelism
+   *          Maximum number of stat and copy requests running at a time.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public void composeObject(String bucketName, String objectName, List<ComposeSource> sources,
+      Map<String,String> headerMap, ServerSideEncryption sse, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+    InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+    InternalException, InvalidArgumentException, InvalidResponseException {
     if (bucketName == null) {
       throw new InvalidArgumentException("Destination bucket name cannot be empty");
     }
@@ -2439,16 +3318,45 @@ public class MinioClient {
       throw new InvalidArgumentException("compose sources cannot be empty");
     }
 
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
+
     checkWriteRequestSse(sse);
 
+    for (ComposeSource src : sources) {
+      checkReadRequestSse(src.sse());
+    }
+
+    // stat all sources concurrently.
+    BoundedExecutor executor = new BoundedExecutor(parallelism);
+    List<Future<ObjectStat>> stats = new ArrayList<>(sources.size());
+    try {
+      for (final ComposeSource src : sources) {
+        if (executor.failed()) {
+          break;
+        }
+        stats.add(executor.submit(new Callable<ObjectStat>() {
+            @Override
+            public ObjectStat call() throws Exception {
+              return statObject(src.bucketName(), src.objectName(), src.sse());
+            }
+          }));
+      }
+
+      for (Future<ObjectStat> stat : stats) {
+        BoundedExecutor.get(stat);
+      }
+    } finally {
+      BoundedExecutor.cancel(stats);
+    }
+
     long objectSize = 0;
     int partsCount = 0;
     for (int i = 0; i < sources.size(); i++) {
       ComposeSource src = sources.get(i);
 
-      checkReadRequestSse(src.sse());
-
-      ObjectStat stat = statObject(src.bucketName(), src.objectName(), src.sse());
+      ObjectStat stat = BoundedExecutor.get(stats.get(i));
       src.buildHeaders(stat.length(), stat.etag());
 
       if (i != 0 && src.headers().containsKey("x-amz-meta-x-amz-key")) {
@@ -2524,71 +3432,92 @@ public class MinioClient {
       headerMap.putAll(sseHeaders);
     }
 
-    String uploadId = initMultipartUpload(bucketName, objectName, headerMap);
-
-    int partNumber = 0;
-    Part[] totalParts = new Part[partsCount];
-    try {
-      for (int i = 0; i < sources.size(); i++) {
-        ComposeSource src = sources.get(i);
+    // plan headers of all parts in part number order.
+    List<Map<String, String>> partHeaders = new ArrayList<>(partsCount);
+    for (ComposeSource src : sources) {
+      long size = src.objectSize();
+      if (src.length() != null) {
+        size = src.length();
+      } else if (src.offset() != null) {
+        size -= src.offset();
+      }
+      long offset = 0;
+      if (src.offset() != null) {
+        offset = src.offset();
+      }
 
-        long size = src.objectSize();
+      if (size <= MAX_PART_SIZE) {
+        Map<String, String> headers = src.headers();
         if (src.length() != null) {
-          size = src.length();
+          headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + src.length() - 1));
         } else if (src.offset() != null) {
-          size -= src.offset();
+          headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + size - 1));
         }
-        long offset = 0;
-        if (src.offset() != null) {
-          offset = src.offset();
+        if (sseHeaders != null) {
+          headers.putAll(sseHeaders);
         }
+        partHeaders.add(headers);
+        continue;
+      }
 
-        if (size <= MAX_PART_SIZE) {
-          partNumber++;
-          Map<String, String> headers = null;
-          if (src.headers() == null) {
-            headers = new HashMap<>();
-          } else {
-            headers = src.headers();
-          }
-          if (src.length() != null) {
-            headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + src.length() - 1));
-          } else if (src.offset() != null) {
-            headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + size - 1));
-          }
-          if (sseHeaders != null) {
-            headers.putAll(sseHeaders);
-          }
-          String eTag = uploadPartCopy(bucketName, objectName, uploadId, partNumber, headers);
+      while (size > 0) {
+        long length = Math.min(size, MAX_PART_SIZE);
 
-          totalParts[partNumber - 1] = new Part(partNumber, eTag);
-          continue;
+        Map<String, String> headers = src.headers();
+        headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + length - 1));
+        if (sseHeaders != null) {
+          headers.putAll(sseHeaders);
         }
+        partHeaders.add(headers);
+
+        offset += length;
+        size -= length;
+      }
+    }
+
+    copyParts(bucketName, objectName, headerMap, partHeaders, parallelism);
+  }
 
-        while (size > 0) {
-          partNumber++;
 
-          long startBytes = offset;
-          long endBytes = startBytes + MAX_PART_SIZE;
-          if (size < MAX_PART_SIZE) {
-            endBytes = startBytes + size;
-          }
+  /**
+   * Creates an object by multipart upload where each part is server-side copied by UploadPartCopy with given part
+   * headers. At most given number of parts are copied at a time and parts are completed in given order.
+   */
+  private void copyParts(final String bucketName, final String objectName, Map<String, String> headerMap,
+                         List<Map<String, String>> partHeaders, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+    InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+    InternalException, InvalidArgumentException, InvalidResponseException {
+    final String uploadId = initMultipartUpload(bucketName, objectName, headerMap);
 
-          Map<String, String> headers = src.headers();
-          headers.put("x-amz-copy-source-range", "bytes=" + startBytes + "-" + endBytes);
-          if (sseHeaders != null) {
-            headers.putAll(sseHeaders);
+    BoundedExecutor executor = new BoundedExecutor(parallelism);
+    List<Future<String>> etags = new ArrayList<>(partHeaders.size());
+    try {
+      try {
+        for (int i = 0; i < partHeaders.size(); i++) {
+          if (executor.failed()) {
+            break;
           }
-          String eTag = uploadPartCopy(bucketName, objectName, uploadId, partNumber, headers);
 
-          totalParts[partNumber - 1] = new Part(partNumber, eTag);
+          final int partNumber = i + 1;
+          final Map<String, String> headers = partHeaders.get(i);
+          etags.add(executor.submit(new Callable<String>() {
+              @Override
+              public String call() throws Exception {
+                return uploadPartCopy(bucketName, objectName, uploadId, partNumber, headers);
+              }
+            }));
+        }
 
-          offset = startBytes;
-          size -= (endBytes - startBytes);
+        Part[] totalParts = new Part[partHeaders.size()];
+        for (int i = 0; i < totalParts.length; i++) {
+          totalParts[i] = new Part(i + 1, BoundedExecutor.get(etags.get(i)));
         }
-      }
 
-      completeMultipart(bucketName, objectName, uploadId, totalParts);
+        completeMultipart(bucketName, objectName, uploadId, totalParts);
+      } finally {
+        BoundedExecutor.cancel(etags);
+      }
     } catch (RuntimeException e) {
       abortMultipartUpload(bucketName, objectName, uploadId);
       throw e;
@@ -2677,6 +3606,23 @@ public class MinioClient {
     return url.toString();
   }
 
+  /**
+   * Returns a presigner generating presigned URLs with credentials of this client without network access. Region of a
+   * bucket is not looked up from the server; it can be pinned by {@link Presigner#setBucketRegion(String, String)}.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code Presigner presigner = minioClient.newPresigner();
+   * presigner.setBucketRegion("my-bucketname", "us-west-2");
+   * String url = presigner.presignedGetObject("my-bucketname", "my-objectname", 60 * 60);
+   * System.out.println(url); }</pre>
+   *
+   * @return {@link Presigner} object.
+   */
+  public Presigner newPresigner() {
+    return new Presigner(baseUrl, accessKey, secretKey, region);
+  }
+
+
   /**
    * Returns an presigned URL to download the object in the bucket with given expiry time with custom request params.
    *
@@ -2859,6 +3805,140 @@ public class MinioClient {
   }
 
 
+
+  /**
+   * Starts multipart upload of an object of given size and returns presigned URLs to upload its parts with given
+   * expiry time. Part size is calculated same as {@code putObject()}. Parts are uploaded by other clients without
+   * passing the data through this client, and the upload is finished by
+   * {@link #completeMultipartUpload(String, String, String, String[])} or cancelled by
+   * {@link #abortMultipartUpload(String, String, String)}.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code PresignedMultipartUpload upload =
+   *     minioClient.presignedMultipartUpload("my-bucketname", "my-objectname", size, null, 60 * 60 * 24);
+   * for (int i = 1; i <= upload.partCount(); i++) {
+   *   System.out.println(upload.partOffset(i) + " " + upload.partUrl(i));
+   * } }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param size        Size of the object.
+   * @param headerMap   Custom/additional meta data of the object.
+   * @param expires     Expiration time in seconds to presigned URLs.
+   *
+   * @return {@link PresignedMultipartUpload} object having upload ID and part URLs.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidExpiresRangeException upon input expires is out of range
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public PresignedMultipartUpload presignedMultipartUpload(String bucketName, String objectName, long size,
+                                                           Map<String, String> headerMap, int expires)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidExpiresRangeException, InvalidResponseException {
+    if (size <= 0) {
+      throw new InvalidArgumentException("size must be greater than zero");
+    }
+    if (expires < 1 || expires > DEFAULT_EXPIRY_TIME) {
+      throw new InvalidExpiresRangeException(expires, "expires must be in range of 1 to " + DEFAULT_EXPIRY_TIME);
+    }
+
+    int[] rv = calculateMultipartSize(size);
+    int partSize = rv[0];
+    int partCount = rv[1];
+    int lastPartSize = rv[2];
+
+    Presigner presigner = newPresigner();
+    presigner.setBucketRegion(bucketName, getRegion(bucketName));
+
+    if (headerMap == null) {
+      headerMap = new HashMap<>();
+    }
+    String uploadId = initMultipartUpload(bucketName, objectName, headerMap);
+    try {
+      List<String> partUrls = new ArrayList<>(partCount);
+      Map<String, String> reqParams = new HashMap<>();
+      reqParams.put(UPLOAD_ID, uploadId);
+      long now = System.currentTimeMillis();
+      for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+        reqParams.put("partNumber", Integer.toString(partNumber));
+        partUrls.add(presigner.presign(Method.PUT, bucketName, objectName, expires, reqParams, now));
+      }
+
+      return new PresignedMultipartUpload(bucketName, objectName, uploadId, size, partSize, lastPartSize, partUrls);
+    } catch (RuntimeException e) {
+      abortMultipartUpload(bucketName, objectName, uploadId);
+      throw e;
+    } catch (Exception e) {
+      abortMultipartUpload(bucketName, objectName, uploadId);
+      throw e;
+    }
+  }
+
+
+  /**
+   * Completes multipart upload of given upload ID with ETags of uploaded parts ordered by part number.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.completeMultipartUpload("my-bucketname", "my-objectname", upload.uploadId(), etags);
+   * System.out.println("my-objectname is uploaded successfully"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param uploadId    Upload ID of the multipart upload.
+   * @param etags       ETags of parts where etags[0] is ETag of part 1.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public void completeMultipartUpload(String bucketName, String objectName, String uploadId, String[] etags)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    if (uploadId == null || uploadId.isEmpty()) {
+      throw new InvalidArgumentException("upload ID cannot be empty");
+    }
+    if (etags == null || etags.length == 0) {
+      throw new InvalidArgumentException("ETags of parts cannot be empty");
+    }
+
+    Part[] parts = new Part[etags.length];
+    for (int i = 0; i < etags.length; i++) {
+      if (etags[i] == null || etags[i].isEmpty()) {
+        throw new InvalidArgumentException("ETag of part " + (i + 1) + " is empty");
+      }
+      parts[i] = new Part(i + 1, etags[i]);
+    }
+
+    completeMultipart(bucketName, objectName, uploadId, parts);
+  }
+
+
   /**
    * Returns string map for given {@link PostPolicy} to upload object with various post policy conditions.
    *
@@ -3195,6 +4275,34 @@ public class MinioClient {
   }
 
 
+  /**
+   * Returns a publisher of objects information of given bucket and prefix, listed page by page as they are requested.
+   * <p>
+   * A page is fetched only when requested objects are not left in current page, and next page is fetched in
+   * background when more objects are requested than left in current page.  Listing is done on worker threads, so
+   * neither subscriber nor thread requesting objects is blocked.  Failure of listing is given to
+   * {@link Flow.Subscriber#onError(Throwable)}.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.listObjectsPublisher("my-bucketname", "my-obj", true).subscribe(subscriber); }</pre>
+   *
+   * @param bucketName Bucket name.
+   * @param prefix     Prefix string.  List objects whose name starts with `prefix`.
+   * @param recursive  when false, emulates a directory structure where each listing returned is either a full object
+   *                   or part of the object's key up to the first '/'.
+   *
+   * @return {@link Flow.Publisher} of {@link Item}.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   */
+  public Flow.Publisher<Item> listObjectsPublisher(String bucketName, String prefix, boolean recursive)
+    throws InvalidBucketNameException {
+    checkBucketName(bucketName);
+    return new ListObjectsPublisher(this, bucketName, prefix, recursive);
+  }
+
+
   private Iterable<Result<Item>> listObjectsV2(final String bucketName, final String prefix, final boolean recursive) {
     return new Iterable<Result<Item>>() {
       @Override
@@ -3329,7 +4437,7 @@ public class MinioClient {
    * @param prefix            Prefix string.  List objects whose name starts with `prefix`.
    * @param delimiter         Delimiter string.  Group objects whose name contains `delimiter`.
    */
-  private ListBucketResult listObjectsV2(String bucketName, String continuationToken, String prefix, String delimiter)
+  ListBucketResult listObjectsV2(String bucketName, String continuationToken, String prefix, String delimiter)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
@@ -4018,15 +5126,181 @@ public class MinioClient {
    * If the multipart session fails, we abort the uploaded parts automatically.
    * </p>
    *
-   * @param bucketName  Bucket name.
-   * @param objectName  Object name to create in the bucket.
-   * @param fileName    File name to upload.
-   * @param sse         encryption metadata.
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param fileName    File name to upload.
+   * @param sse         encryption metadata.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InsufficientDataException   upon getting EOFException while reading given
+   * @throws InvalidResponseException    upon a non-xml response from server
+   *
+   * @deprecated As of release 7.0
+   */
+  @Deprecated
+  public void putObject(String bucketName, String objectName, String fileName, ServerSideEncryption sse)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InsufficientDataException,InvalidResponseException {
+    putObject(bucketName, objectName, fileName, null, null, sse, null);
+  }
+
+
+  /**
+   * Uploads given file as object in given bucket.
+   * <p>
+   * If the object is larger than 5MB, the client will automatically use a multipart session.
+   * </p>
+   * <p>
+   * If the session fails, the user may attempt to re-upload the object by attempting to create
+   * the exact same object again.
+   * </p>
+   * <p>
+   * If the multipart session fails, abort the uploaded parts automatically.
+   * </p>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param fileName    File name to upload.
+   * @param size        Size of all the data that will be uploaded.
+   * @param headerMap   Custom/additional meta data of the object.
+   * @param sse         encryption metadata.
+   * @param contentType Content type of the stream.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InsufficientDataException   upon getting EOFException while reading given
+   */
+  public void putObject(String bucketName, String objectName, String fileName,  Long size,
+                        Map<String, String> headerMap, ServerSideEncryption sse, String contentType)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
+
+    if (fileName == null || "".equals(fileName)) {
+      throw new InvalidArgumentException("empty file name is not allowed");
+    }
+
+    Path filePath = Paths.get(fileName);
+    if (!Files.isRegularFile(filePath)) {
+      throw new InvalidArgumentException("'" + fileName + "': not a regular file");
+    }
+    if (contentType == null) {
+      contentType = Files.probeContentType(filePath);
+    }
+    if (size == null) {
+      size = Files.size(filePath);
+    }
+    RandomAccessFile file = new RandomAccessFile(filePath.toFile(), "r");
+
+    try {
+      putObject(bucketName, objectName, size, file, headerMap, sse, contentType);
+    } finally {
+      file.close();
+    }
+  }
+
+
+  /**
+   * Uploads files of given directory tree to given bucket, skipping files unchanged in the bucket. Object name of a
+   * file is given prefix followed by slash separated path of the file relative to the directory. The directory is
+   * walked in order of object names and merge-joined with listing of objects under the prefix, so that a changed file
+   * is uploaded as soon as it is found, with at most given number of files being uploaded at a time.  Memory used does
+   * not depend on number of files. Files failed to be read or uploaded are reported in the result.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code MirrorResult result = minioClient.mirrorDirectory("/data/photos", "my-bucketname", "photos/",
+   *                                                     ChangeDetection.MODIFIED_TIME, 8);
+   * System.out.println(result.uploadedFiles() + " uploaded, " + result.failedFiles() + " failed"); }</pre>
+   *
+   * @param dirName          Directory to upload.
+   * @param bucketName       Bucket name.
+   * @param prefix           Object name prefix of the files.
+   * @param changeDetection  How to detect files changed from their objects.
+   * @param parallelism      Maximum number of files uploaded at a time.
+   *
+   * @return {@link MirrorResult} having counters and errors of the mirror.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error or failure of walking the directory
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public MirrorResult mirrorDirectory(String dirName, String bucketName, String prefix,
+                                      ChangeDetection changeDetection, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    checkBucketName(bucketName);
+    if (dirName == null || "".equals(dirName)) {
+      throw new InvalidArgumentException("empty directory name is not allowed");
+    }
+
+    Path dir = Paths.get(dirName);
+    if (!Files.isDirectory(dir)) {
+      throw new InvalidArgumentException("'" + dirName + "': not a directory");
+    }
+    if (changeDetection == null) {
+      throw new InvalidArgumentException("change detection cannot be null");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
+
+    return new DirectoryMirror(this, dir, bucketName, prefix, changeDetection, parallelism).run();
+  }
+
+
+  /**
+   * Writes information of objects of given bucket and prefix to given snapshot file, which is later given to
+   * {@link #diffBucket} as previous snapshot.  Objects are listed in order and written as they are listed, so memory
+   * used does not depend on number of objects.  The snapshot file is replaced only when listing is completed.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code long count = minioClient.snapshotBucket("my-bucketname", "photos/", "/var/lib/app/photos.snapshot");
+   * System.out.println(count + " objects"); }</pre>
+   *
+   * @param bucketName    Bucket name.
+   * @param prefix        Object name prefix.
+   * @param snapshotFile  File to write the snapshot to.
+   *
+   * @return number of objects in the snapshot.
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    * @throws NoSuchAlgorithmException
    *           upon requested algorithm was not found during signature calculation
-   * @throws IOException                 upon connection error
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error or failure of writing the snapshot file
    * @throws InvalidKeyException
    *           upon an invalid access key or secret key
    * @throws NoResponseException         upon no response from server
@@ -4034,45 +5308,45 @@ public class MinioClient {
    * @throws ErrorResponseException      upon unsuccessful execution
    * @throws InternalException           upon internal library error
    * @throws InvalidArgumentException    upon invalid value is passed to a method.
-   * @throws InsufficientDataException   upon getting EOFException while reading given
    * @throws InvalidResponseException    upon a non-xml response from server
-   *
-   * @deprecated As of release 7.0
    */
-  @Deprecated
-  public void putObject(String bucketName, String objectName, String fileName, ServerSideEncryption sse)
-    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+  public long snapshotBucket(String bucketName, String prefix, String snapshotFile)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
-           InternalException, InvalidArgumentException, InsufficientDataException,InvalidResponseException {
-    putObject(bucketName, objectName, fileName, null, null, sse, null);
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    return diffBucket(bucketName, prefix, null, snapshotFile, null);
   }
 
 
   /**
-   * Uploads given file as object in given bucket.
-   * <p>
-   * If the object is larger than 5MB, the client will automatically use a multipart session.
-   * </p>
-   * <p>
-   * If the session fails, the user may attempt to re-upload the object by attempting to create
-   * the exact same object again.
-   * </p>
-   * <p>
-   * If the multipart session fails, abort the uploaded parts automatically.
-   * </p>
+   * Lists objects of given bucket and prefix, calls given listener for each object added, changed or removed since
+   * previous snapshot and writes new snapshot to given file.  An object is changed if its size, ETag or last modified
+   * time is changed.  Listing is merge-joined with previous snapshot in order of object name, so memory used does not
+   * depend on number of objects.  If previous snapshot is null, every object is added.  Previous and new snapshot
+   * files may be the same file, which is replaced only when listing is completed.
    *
-   * @param bucketName  Bucket name.
-   * @param objectName  Object name to create in the bucket.
-   * @param fileName    File name to upload.
-   * @param size        Size of all the data that will be uploaded.
-   * @param headerMap   Custom/additional meta data of the object.
-   * @param sse         encryption metadata.
-   * @param contentType Content type of the stream.
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.diffBucket("my-bucketname", "photos/", "/var/lib/app/photos.snapshot",
+   *                        "/var/lib/app/photos.snapshot", new BucketChangeListener() {
+   *     public void changed(BucketChange change) {
+   *       System.out.println(change.type() + " " + change.objectName());
+   *     }
+   *   }); }</pre>
+   *
+   * @param bucketName            Bucket name.
+   * @param prefix                Object name prefix.
+   * @param previousSnapshotFile  Snapshot file written by previous snapshot of same bucket and prefix, or null.
+   * @param snapshotFile          File to write new snapshot to.
+   * @param listener              Listener called with each change, in order of object name.
+   *
+   * @return number of changes.
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    * @throws NoSuchAlgorithmException
    *           upon requested algorithm was not found during signature calculation
-   * @throws IOException                 upon connection error
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error or failure of reading or writing snapshot files
    * @throws InvalidKeyException
    *           upon an invalid access key or secret key
    * @throws NoResponseException         upon no response from server
@@ -4080,35 +5354,30 @@ public class MinioClient {
    * @throws ErrorResponseException      upon unsuccessful execution
    * @throws InternalException           upon internal library error
    * @throws InvalidArgumentException    upon invalid value is passed to a method.
-   * @throws InsufficientDataException   upon getting EOFException while reading given
+   * @throws InvalidResponseException    upon a non-xml response from server
    */
-  public void putObject(String bucketName, String objectName, String fileName,  Long size,
-                        Map<String, String> headerMap, ServerSideEncryption sse, String contentType)
-    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+  public long diffBucket(String bucketName, String prefix, String previousSnapshotFile, String snapshotFile,
+                         BucketChangeListener listener)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
-           InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
-
-    if (fileName == null || "".equals(fileName)) {
-      throw new InvalidArgumentException("empty file name is not allowed");
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    checkBucketName(bucketName);
+    if (snapshotFile == null || "".equals(snapshotFile)) {
+      throw new InvalidArgumentException("empty snapshot file name is not allowed");
     }
 
-    Path filePath = Paths.get(fileName);
-    if (!Files.isRegularFile(filePath)) {
-      throw new InvalidArgumentException("'" + fileName + "': not a regular file");
-    }
-    if (contentType == null) {
-      contentType = Files.probeContentType(filePath);
-    }
-    if (size == null) {
-      size = Files.size(filePath);
+    Path previous = null;
+    if (previousSnapshotFile != null) {
+      previous = Paths.get(previousSnapshotFile);
+      if (!Files.isRegularFile(previous)) {
+        throw new InvalidArgumentException("'" + previousSnapshotFile + "': not a regular file");
+      }
+      if (listener == null) {
+        throw new InvalidArgumentException("listener cannot be null");
+      }
     }
-    RandomAccessFile file = new RandomAccessFile(filePath.toFile(), "r");
 
-    try {
-      putObject(bucketName, objectName, size, file, headerMap, sse, contentType);
-    } finally {
-      file.close();
-    }
+    return new BucketSnapshot(this, bucketName, prefix).run(previous, Paths.get(snapshotFile), listener);
   }
 
 
@@ -4327,7 +5596,8 @@ public class MinioClient {
   /**
    * Uploads data from given stream as object to given bucket where the stream size is unknown.
    * <p>
-   * If the stream has more than 525MiB data, the client uses a multipart session automatically.
+   * If the stream has more than 5MiB data, the client uses a multipart session automatically with part sizes
+   * growing as more data is read from the stream.
    * </p>
    * <p>
    * If the session fails, the user may attempt to re-upload the object by attempting to create
@@ -4558,7 +5828,8 @@ public class MinioClient {
   /**
    * Uploads data from given stream as object to given bucket where the stream size is unknown.
    * <p>
-   * If the stream has more than 525MiB data, the client uses a multipart session automatically.
+   * If the stream has more than 5MiB data, the client uses a multipart session automatically with part sizes
+   * growing as more data is read from the stream.
    * </p>
    * <p>
    * If the session fails, the user may attempt to re-upload the object by attempting to create
@@ -4627,7 +5898,8 @@ public class MinioClient {
   /**
    * Uploads data from given stream as object to given bucket where the stream size is unknown.
    * <p>
-   * If the stream has more than 525MiB data, the client uses a multipart session automatically.
+   * If the stream has more than 5MiB data, the client uses a multipart session automatically with part sizes
+   * growing as more data is read from the stream.
    * </p>
    * <p>
    * If the session fails, the user may attempt to re-upload the object by attempting to create
@@ -4662,22 +5934,322 @@ public class MinioClient {
    * headerMap.put("Content-Type", "application/octet-stream");
    * headerMap.put("X-Amz-Meta-Key", "meta-data");
 
-   * //Generate symmetric 256 bit AES key.
-   * KeyGenerator symKeyGenerator = KeyGenerator.getInstance("AES");
-   * symKeyGenerator.init(256);
-   * SecretKey symKey = symKeyGenerator.generateKey();
+   * //Generate symmetric 256 bit AES key.
+   * KeyGenerator symKeyGenerator = KeyGenerator.getInstance("AES");
+   * symKeyGenerator.init(256);
+   * SecretKey symKey = symKeyGenerator.generateKey();
+
+   * minioClient.putObject("my-bucketname", "my-objectname", bais, bais.available(), headerMap, symKey);
+   * bais.close();
+   * System.out.println("my-objectname is uploaded successfully"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param stream      stream to upload.
+   * @param size        Size of all the data that will be uploaded.
+   * @param headerMap   Custom/additional meta data of the object.
+   * @param sse         encryption metadata.
+   * @param contentType Content type of the stream.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public void putObject(String bucketName, String objectName, InputStream stream, Long size,
+                        Map<String, String> headerMap, ServerSideEncryption sse, String contentType)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
+
+    if (!(stream instanceof BufferedInputStream)) {
+      stream = new BufferedInputStream(stream);
+    }
+    putObject(bucketName, objectName, size, stream, headerMap, sse, contentType);
+  }
+
+  /**
+   * Returns an output stream to upload written data as object to given bucket.
+   * <p>
+   * Written data is uploaded in parts in background as more data is written. Closing the stream completes the upload
+   * and {@link MinioOutputStream#abort()} cancels it. If the stream has no more than 5MiB data, single put object is
+   * used on close.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code try (MinioOutputStream out = minioClient.newObjectOutputStream("my-bucketname", "my-objectname")) {
+   *   out.write("hello".getBytes(StandardCharsets.UTF_8));
+   * }
+   * System.out.println("my-objectname is uploaded successfully"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   *
+   * @return {@link MinioOutputStream} to write object data to.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public MinioOutputStream newObjectOutputStream(String bucketName, String objectName)
+    throws InvalidBucketNameException, InvalidArgumentException {
+    return newObjectOutputStream(bucketName, objectName, null, null, DEFAULT_UPLOAD_PARALLELISM);
+  }
+
+
+  /**
+   * Returns an output stream to upload written data as object to given bucket with at most given number of parts
+   * being uploaded at a time.
+   * <p>
+   * Written data is uploaded in parts in background as more data is written. Closing the stream completes the upload
+   * and {@link MinioOutputStream#abort()} cancels it. If the stream has no more than 5MiB data, single put object is
+   * used on close. Part buffers are taken from the pool set by {@link #setPartBufferPool(PartBufferPool)} if any.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code Map<String, String> headerMap = new HashMap<>();
+   * headerMap.put("Content-Type", "application/json");
+   * try (MinioOutputStream out = minioClient.newObjectOutputStream("my-bucketname", "my-objectname", headerMap,
+   *                                                                null, 8)) {
+   *   out.write(json.getBytes(StandardCharsets.UTF_8));
+   * }
+   * System.out.println("my-objectname is uploaded successfully"); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param headerMap   Custom/additional meta data of the object.
+   * @param sse         encryption metadata.
+   * @param parallelism Maximum number of parts uploaded at a time.
+   *
+   * @return {@link MinioOutputStream} to write object data to.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public MinioOutputStream newObjectOutputStream(String bucketName, String objectName, Map<String, String> headerMap,
+                                                 ServerSideEncryption sse, int parallelism)
+    throws InvalidBucketNameException, InvalidArgumentException {
+    checkBucketName(bucketName);
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
+    }
+    checkWriteRequestSse(sse);
+
+    Map<String, String> headers = new HashMap<>();
+    if (headerMap != null) {
+      headers.putAll(headerMap);
+    }
+    if (headers.get("Content-Type") == null) {
+      headers.put("Content-Type", "application/octet-stream");
+    }
+
+    Map<String, String> encryptionHeaders = null;
+    if (sse != null) {
+      headers.putAll(sse.headers());
+      // In multi-part uploads, set encryption headers in the case of SSE-C.
+      if (sse.type() == ServerSideEncryption.Type.SSE_C) {
+        encryptionHeaders = sse.headers();
+      }
+    }
+
+    PartBufferPool pool = partBufferPool;
+    if (pool == null) {
+      // buffers of parts being uploaded and the part being written.
+      pool = new PartBufferPool((long) (parallelism + 1) * unknownSizePartSize(MAX_MULTIPART_COUNT));
+    }
+
+    return new MinioOutputStream(this, bucketName, objectName, headers, encryptionHeaders,
+                                 checksumMode == ChecksumMode.CRC32C, pool, parallelism);
+  }
+
+
+  /**
+   * Uploads chunks of bytes of given publisher as object to given bucket and returns a future completed once the
+   * upload is done.
+   * <p>
+   * A chunk is requested from the publisher only after previous chunk is written to {@link MinioOutputStream}, so
+   * that at most one part is buffered besides parts being uploaded.  Writing is done on worker threads, so the
+   * publisher is never blocked.  If the publisher fails, the upload is aborted and the future completes with its
+   * error.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.putObjectAsync("my-bucketname", "my-objectname", publisher, null)
+   *     .thenRun(() -> System.out.println("my-objectname is uploaded successfully")); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param publisher   Publisher of chunks of object data.
+   * @param headerMap   Custom/additional meta data of the object.
+   *
+   * @return {@link CompletableFuture} completed once the upload is done.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public CompletableFuture<Void> putObjectAsync(String bucketName, String objectName,
+                                                Flow.Publisher<ByteBuffer> publisher, Map<String, String> headerMap)
+    throws InvalidBucketNameException, InvalidArgumentException {
+    if (publisher == null) {
+      throw new InvalidArgumentException("publisher cannot be null");
+    }
+
+    PublisherUpload upload = new PublisherUpload(newObjectOutputStream(bucketName, objectName, headerMap, null,
+                                                                       DEFAULT_UPLOAD_PARALLELISM));
+    publisher.subscribe(upload);
+    return upload.result();
+  }
+
+
+  /**
+   * Uploads data from given stream as object compressed by gzip, with blocks of the stream compressed in parallel.
+   * <p>
+   * The stream is cut into 1MiB blocks which are compressed independently as gzip members by at most given number of
+   * blocks at a time, and compressed data is uploaded in parts same as {@link MinioOutputStream}.  The object is
+   * marked by user metadata {@code X-Amz-Meta-Compression: gzip} and is a valid gzip stream, which
+   * {@link #getObjectDecompressed(String, String)} decompresses.  Content-Encoding is not set so that HTTP clients do
+   * not decompress it implicitly.
+   * </p>
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code try (InputStream stream = new FileInputStream("/var/log/app.log")) {
+   *   minioClient.putObjectCompressed("my-bucketname", "app.log.gz", stream, null, 4);
+   * } }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name to create in the bucket.
+   * @param stream      Stream to upload.
+   * @param headerMap   Custom/additional meta data of the object.
+   * @param parallelism Maximum number of blocks compressed and parts uploaded at a time.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws IOException                 upon connection error or failure of reading the stream
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public void putObjectCompressed(String bucketName, String objectName, InputStream stream,
+                                  Map<String, String> headerMap, int parallelism)
+    throws InvalidBucketNameException, IOException, InvalidArgumentException {
+    if (stream == null) {
+      throw new InvalidArgumentException("stream cannot be null");
+    }
+
+    Map<String, String> headers = new HashMap<>();
+    if (headerMap != null) {
+      headers.putAll(headerMap);
+    }
+    headers.put(COMPRESSION_HEADER, GZIP);
+
+    GzipBlockOutputStream out = new GzipBlockOutputStream(
+        newObjectOutputStream(bucketName, objectName, headers, null, parallelism), parallelism);
+    byte[] buf = new byte[65536];
+    try {
+      int n;
+      while ((n = stream.read(buf)) >= 0) {
+        out.write(buf, 0, n);
+      }
+    } catch (IOException | RuntimeException e) {
+      out.abort();
+      throw e;
+    }
+    out.close();
+  }
+
+
+  /**
+   * Returns input stream of given object decompressed if the object is uploaded by
+   * {@link #putObjectCompressed(String, String, InputStream, Map, int)}, else input stream of the object as is.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code try (InputStream stream = minioClient.getObjectDecompressed("my-bucketname", "app.log.gz")) {
+   *   Files.copy(stream, Paths.get("/restore/app.log"));
+   * } }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   *
+   * @return {@link InputStream} containing decompressed data of the object.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public InputStream getObjectDecompressed(String bucketName, String objectName)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
+    }
+
+    HttpResponse response = executeGet(bucketName, objectName, null, null);
+    InputStream stream = response.body().byteStream();
+    if (!GZIP.equalsIgnoreCase(response.response().header(COMPRESSION_HEADER))) {
+      return stream;
+    }
+
+    try {
+      // GZIPInputStream reads all concatenated gzip members.
+      return new GZIPInputStream(stream, 65536);
+    } catch (IOException e) {
+      stream.close();
+      throw e;
+    }
+  }
+
 
-   * minioClient.putObject("my-bucketname", "my-objectname", bais, bais.available(), headerMap, symKey);
-   * bais.close();
-   * System.out.println("my-objectname is uploaded successfully"); }</pre>
+  /**
+   * Queries content of given CSV or JSON object by given SQL expression on server side and returns stream of records
+   * matched.
+   * <p>
+   * Event stream of the response is decoded as the returned stream is read, without buffering whole messages.
+   * Statistics and progress of the query are available from the returned stream.
+   * </p>
    *
-   * @param bucketName  Bucket name.
-   * @param objectName  Object name to create in the bucket.
-   * @param stream      stream to upload.
-   * @param size        Size of all the data that will be uploaded.
-   * @param headerMap   Custom/additional meta data of the object.
-   * @param sse         encryption metadata.
-   * @param contentType Content type of the stream.
+   * </p><b>Example:</b><br>
+   * <pre>{@code InputSerialization is = new InputSerialization(CompressionType.NONE, FileHeaderInfo.USE, null, null,
+   *                                                 null);
+   * OutputSerialization os = OutputSerialization.csv(null, null, null);
+   * try (SelectResponseStream stream = minioClient.selectObjectContent("my-bucketname", "my-objectname.csv",
+   *     "select * from S3Object s where s.status = 'error'", is, os, true)) {
+   *   BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+   *   String line;
+   *   while ((line = reader.readLine()) != null) {
+   *     System.out.println(line);
+   *   }
+   *   System.out.println("scanned " + stream.stats().bytesScanned() + " bytes");
+   * } }</pre>
+   *
+   * @param bucketName          Bucket name.
+   * @param objectName          Object name in the bucket.
+   * @param sqlExpression       SQL expression of the query.
+   * @param inputSerialization  Format of the object.
+   * @param outputSerialization Format of records returned.
+   * @param requestProgress     If true, progress of the query is sent periodically.
+   *
+   * @return {@link SelectResponseStream} of records matched.
    *
    * @throws InvalidBucketNameException  upon invalid bucket name is given
    * @throws NoSuchAlgorithmException
@@ -4694,18 +6266,33 @@ public class MinioClient {
    * @throws InvalidArgumentException    upon invalid value is passed to a method.
    * @throws InvalidResponseException    upon a non-xml response from server
    */
-  public void putObject(String bucketName, String objectName, InputStream stream, Long size,
-                        Map<String, String> headerMap, ServerSideEncryption sse, String contentType)
-    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+  public SelectResponseStream selectObjectContent(String bucketName, String objectName, String sqlExpression,
+                                                  InputSerialization inputSerialization,
+                                                  OutputSerialization outputSerialization, boolean requestProgress)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
-           InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
-
-    if (!(stream instanceof BufferedInputStream)) {
-      stream = new BufferedInputStream(stream);
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    if ((objectName == null) || (objectName.isEmpty())) {
+      throw new InvalidArgumentException("object name cannot be empty");
     }
-    putObject(bucketName, objectName, size, stream, headerMap, sse, contentType);
+    if ((sqlExpression == null) || (sqlExpression.isEmpty())) {
+      throw new InvalidArgumentException("SQL expression cannot be empty");
+    }
+    if (inputSerialization == null || outputSerialization == null) {
+      throw new InvalidArgumentException("input and output serialization cannot be null");
+    }
+
+    Map<String,String> queryParamMap = new HashMap<>();
+    queryParamMap.put("select", "");
+    queryParamMap.put("select-type", "2");
+
+    SelectObjectContentRequest request = new SelectObjectContentRequest(sqlExpression, inputSerialization,
+                                                                        outputSerialization, requestProgress);
+    HttpResponse response = executePost(bucketName, objectName, null, queryParamMap, request);
+    return new SelectResponseStream(response.body().byteStream());
   }
 
+
   /**
    * Executes put object and returns ETag of the object.
    *
@@ -4722,8 +6309,8 @@ public class MinioClient {
    * @param partNumber
    *          Part number of multipart put object.
    */
-  private String putObject(String bucketName, String objectName, Object data, int length,
-                           Map<String, String> headerMap, String uploadId, int partNumber)
+  String putObject(String bucketName, String objectName, Object data, int length,
+                   Map<String, String> headerMap, String uploadId, int partNumber)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
@@ -4752,7 +6339,7 @@ public class MinioClient {
    * @param objectName
    *          Object name in the bucket.
    * @param size
-   *          Size of object data.
+   *          Size of object data or null if the size is unknown.
    * @param data
    *          Object data.
    */
@@ -4761,13 +6348,6 @@ public class MinioClient {
     throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
-    boolean unknownSize = false;
-
-    if (size == null) {
-      unknownSize = true;
-      size = MAX_OBJECT_SIZE;
-    }
-
     if (headerMap == null) {
       headerMap = new HashMap<>();
     }
@@ -4787,6 +6367,10 @@ public class MinioClient {
       headerMap.putAll(sse.headers());
     }
 
+    if (size == null) {
+      putObject(bucketName, objectName, (BufferedInputStream) data, headerMap, sse);
+      return;
+    }
 
     if (size <= MIN_MULTIPART_SIZE) {
       putObject(bucketName, objectName, data, size.intValue(), headerMap, null, 0);
@@ -4801,7 +6385,8 @@ public class MinioClient {
     Part[] totalParts = new Part[partCount];
 
     // initiate new multipart upload.
-    String uploadId = initMultipartUpload(bucketName, objectName, headerMap);
+    boolean crc32c = checksumMode == ChecksumMode.CRC32C;
+    String uploadId = initMultipartUpload(bucketName, objectName, headerMap, crc32c);
 
     try {
       int expectedReadSize = partSize;
@@ -4810,32 +6395,50 @@ public class MinioClient {
           expectedReadSize = lastPartSize;
         }
 
-        // For unknown sized stream, check available size.
-        int availableSize = 0;
-        if (unknownSize) {
-          // Check whether data is available one byte more than expectedReadSize.
-          availableSize = getAvailableSize(data, expectedReadSize + 1);
-          // If availableSize is less or equal to expectedReadSize, then we reached last part.
-          if (availableSize <= expectedReadSize) {
-            // If it is first part, do single put object.
-            if (partNumber == 1) {
-              putObject(bucketName, objectName, data, availableSize, headerMap, null, 0);
-              return;
-            }
-            expectedReadSize = availableSize;
-            partCount = partNumber;
-          }
-        }
-
         Map<String, String> encryptionHeaders = null;
         // In multi-part uploads, set encryption headers in the case of SSE-C.
         if (sse != null && sse.type() == ServerSideEncryption.Type.SSE_C) {
           encryptionHeaders = sse.headers();
         }
 
-        String etag = putObject(bucketName, objectName, data, expectedReadSize, encryptionHeaders,
-                                uploadId, partNumber);
-        totalParts[partNumber - 1] = new Part(partNumber, etag);
+        String etag;
+        String crc32cHash = null;
+        if ((partBufferPool != null || crc32c) && data instanceof BufferedInputStream) {
+          // read the part into a pooled buffer instead of marking the stream for digest calculation.
+          PartBufferPool pool = partBufferPool();
+          ByteBuffer buf = pool.acquire(expectedReadSize);
+          try {
+            InputStream stream = (BufferedInputStream) data;
+            Checksum checksum = null;
+            if (crc32c) {
+              checksum = Digest.newCrc32c();
+              stream = new CheckedInputStream(stream, checksum);
+            }
+            int bytesRead = readPart(stream, buf);
+            if (bytesRead < expectedReadSize) {
+              throw new InsufficientDataException("Insufficient data.  bytes read " + bytesRead + " expected "
+                                                  + expectedReadSize);
+            }
+
+            Map<String, String> partHeaders = encryptionHeaders;
+            if (crc32c) {
+              crc32cHash = Digest.encodeCrc32c(checksum);
+              partHeaders = crc32cHeaders(encryptionHeaders, crc32cHash);
+            }
+            etag = putObject(bucketName, objectName, buf, bytesRead, partHeaders, uploadId, partNumber);
+          } finally {
+            pool.release(buf);
+          }
+        } else {
+          Map<String, String> partHeaders = encryptionHeaders;
+          if (crc32c) {
+            // file data is read again to upload the part.
+            crc32cHash = Digest.crc32cHash(data, expectedReadSize);
+            partHeaders = crc32cHeaders(encryptionHeaders, crc32cHash);
+          }
+          etag = putObject(bucketName, objectName, data, expectedReadSize, partHeaders, uploadId, partNumber);
+        }
+        totalParts[partNumber - 1] = new Part(partNumber, etag, crc32cHash);
       }
       // All parts have been uploaded, complete the multipart upload.
       completeMultipart(bucketName, objectName, uploadId, totalParts);
@@ -4848,6 +6451,95 @@ public class MinioClient {
     }
   }
 
+  /**
+   * Executes put object of given stream whose size is unknown. Data is read into a part buffer one part at a time
+   * where part size starts at 5MiB and grows as more parts are uploaded, so that memory usage follows the amount of
+   * data in the stream instead of maximum object size. If the stream has no more than one part of data, single put
+   * object is used.
+   *
+   * @param bucketName
+   *          Bucket name.
+   * @param objectName
+   *          Object name in the bucket.
+   * @param stream
+   *          Object data.
+   */
+  private void putObject(String bucketName, String objectName, BufferedInputStream stream,
+                         Map<String, String> headerMap, ServerSideEncryption sse)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InsufficientDataException, InvalidResponseException {
+    PartBufferPool pool = partBufferPool();
+    boolean crc32c = checksumMode == ChecksumMode.CRC32C;
+    Checksum checksum = crc32c ? Digest.newCrc32c() : null;
+    ByteBuffer buf = null;
+    try {
+      int partSize = unknownSizePartSize(1);
+      buf = pool.acquire(partSize);
+      int bytesRead = readPart(crc32c ? new CheckedInputStream(stream, checksum) : stream, buf);
+      boolean eof = isEof(stream, bytesRead, partSize);
+      if (eof) {
+        putObject(bucketName, objectName, buf, bytesRead, headerMap, null, 0);
+        return;
+      }
+
+      Map<String, String> encryptionHeaders = null;
+      // In multi-part uploads, set encryption headers in the case of SSE-C.
+      if (sse != null && sse.type() == ServerSideEncryption.Type.SSE_C) {
+        encryptionHeaders = sse.headers();
+      }
+
+      // initiate new multipart upload.
+      String uploadId = initMultipartUpload(bucketName, objectName, headerMap, crc32c);
+
+      try {
+        List<Part> totalParts = new LinkedList<>();
+        int partNumber = 1;
+        while (true) {
+          Map<String, String> partHeaders = encryptionHeaders;
+          String crc32cHash = null;
+          if (crc32c) {
+            crc32cHash = Digest.encodeCrc32c(checksum);
+            partHeaders = crc32cHeaders(encryptionHeaders, crc32cHash);
+          }
+          String etag = putObject(bucketName, objectName, buf, bytesRead, partHeaders, uploadId, partNumber);
+          totalParts.add(new Part(partNumber, etag, crc32cHash));
+
+          // part is acknowledged, give back its buffer.
+          pool.release(buf);
+          buf = null;
+
+          if (eof) {
+            break;
+          }
+
+          partNumber++;
+          if (partNumber > MAX_MULTIPART_COUNT) {
+            throw new InvalidArgumentException("stream size is greater than allowed size 5TiB");
+          }
+
+          partSize = unknownSizePartSize(partNumber);
+          buf = pool.acquire(partSize);
+          if (crc32c) {
+            checksum.reset();
+          }
+          bytesRead = readPart(crc32c ? new CheckedInputStream(stream, checksum) : stream, buf);
+          eof = isEof(stream, bytesRead, partSize);
+        }
+        // All parts have been uploaded, complete the multipart upload.
+        completeMultipart(bucketName, objectName, uploadId, totalParts.toArray(new Part[0]));
+      } catch (RuntimeException e) {
+        abortMultipartUpload(bucketName, objectName, uploadId);
+        throw e;
+      } catch (Exception e) {
+        abortMultipartUpload(bucketName, objectName, uploadId);
+        throw e;
+      }
+    } finally {
+      pool.release(buf);
+    }
+  }
+
   /**
    * Get JSON string of bucket policy of the given bucket.
    *
@@ -5411,8 +7103,8 @@ public class MinioClient {
    * Executes List Incomplete uploads S3 call for given bucket name, key marker, upload id marker, prefix,
    * delimiter and maxUploads and returns {@link ListMultipartUploadsResult}.
    */
-  private ListMultipartUploadsResult listIncompleteUploads(String bucketName, String keyMarker, String uploadIdMarker,
-                                                           String prefix, String delimiter, int maxUploads)
+  ListMultipartUploadsResult listIncompleteUploads(String bucketName, String keyMarker, String uploadIdMarker,
+                                                   String prefix, String delimiter, int maxUploads)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
@@ -5456,7 +7148,19 @@ public class MinioClient {
   /**
    * Initializes new multipart upload for given bucket name, object name and content type.
    */
-  private String initMultipartUpload(String bucketName, String objectName, Map<String, String> headerMap)
+  String initMultipartUpload(String bucketName, String objectName, Map<String, String> headerMap)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException , InvalidResponseException {
+    return initMultipartUpload(bucketName, objectName, headerMap, false);
+  }
+
+
+  /**
+   * Initializes new multipart upload for given bucket name, object name and content type, declaring CRC32C checksum
+   * algorithm if crc32c is true. Every part of such upload must be sent with its CRC32C checksum.
+   */
+  String initMultipartUpload(String bucketName, String objectName, Map<String, String> headerMap, boolean crc32c)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException , InvalidResponseException {
@@ -5465,6 +7169,15 @@ public class MinioClient {
       headerMap.put("Content-Type", "application/octet-stream");
     }
 
+    if (crc32c) {
+      Map<String, String> headers = new HashMap<>();
+      if (headerMap != null) {
+        headers.putAll(headerMap);
+      }
+      headers.put("x-amz-checksum-algorithm", "CRC32C");
+      headerMap = headers;
+    }
+
     Map<String,String> queryParamMap = new HashMap<>();
     queryParamMap.put("uploads", "");
 
@@ -5480,7 +7193,7 @@ public class MinioClient {
   /**
    * Executes complete multipart upload of given bucket name, object name, upload ID and parts.
    */
-  private void completeMultipart(String bucketName, String objectName, String uploadId, Part[] parts)
+  void completeMultipart(String bucketName, String objectName, String uploadId, Part[] parts)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
@@ -5519,8 +7232,8 @@ public class MinioClient {
    * Executes List object parts of multipart upload for given bucket name, object name and upload ID and
    * returns {@code Iterable<Result<Part>>}.
    */
-  private Iterable<Result<Part>> listObjectParts(final String bucketName, final String objectName,
-                                                 final String uploadId) {
+  Iterable<Result<Part>> listObjectParts(final String bucketName, final String objectName,
+                                         final String uploadId) {
     return new Iterable<Result<Part>>() {
       @Override
       public Iterator<Result<Part>> iterator() {
@@ -5639,9 +7352,30 @@ public class MinioClient {
 
 
   /**
-   * Aborts multipart upload of given bucket name, object name and upload ID.
+   * Aborts multipart upload of given bucket name, object name and upload ID. Parts already uploaded are removed.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code minioClient.abortMultipartUpload("my-bucketname", "my-objectname", upload.uploadId()); }</pre>
+   *
+   * @param bucketName  Bucket name.
+   * @param objectName  Object name in the bucket.
+   * @param uploadId    Upload ID of the multipart upload.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidResponseException    upon a non-xml response from server
    */
-  private void abortMultipartUpload(String bucketName, String objectName, String uploadId)
+  public void abortMultipartUpload(String bucketName, String objectName, String uploadId)
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
@@ -5679,13 +7413,64 @@ public class MinioClient {
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
            InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
            InternalException, InvalidResponseException {
+    // uploads are listed in order of object name, so uploads of the object come first.
     for (Result<Upload> r : listIncompleteUploads(bucketName, objectName, true, false)) {
       Upload upload = r.get();
-      if (objectName.equals(upload.objectName())) {
-        abortMultipartUpload(bucketName, objectName, upload.uploadId());
+      if (!objectName.equals(upload.objectName())) {
         return;
       }
+      abortMultipartUpload(bucketName, objectName, upload.uploadId());
+    }
+  }
+
+
+  /**
+   * Aborts incomplete uploads of given bucket and prefix initiated more than given milliseconds ago.  Uploads are
+   * listed with next page fetched in background, and sizes of uploaded parts of each stale upload are listed before
+   * aborting it, with at most given number of uploads processed at a time.  Uploads failed to be aborted are reported
+   * in the result.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code // abort uploads initiated more than a week ago.
+   * ReapResult result = minioClient.removeStaleUploads("my-bucketname", null, TimeUnit.DAYS.toMillis(7), 16);
+   * System.out.println(result.abortedUploads() + " uploads of " + result.abortedBytes() + " bytes aborted"); }</pre>
+   *
+   * @param bucketName       Bucket name.
+   * @param prefix           Object name prefix of uploads, or null.
+   * @param olderThanMillis  Minimum age of uploads to abort in milliseconds.
+   * @param parallelism      Maximum number of uploads processed at a time.
+   *
+   * @return {@link ReapResult} having counters and errors of the removal.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws NoSuchAlgorithmException
+   *           upon requested algorithm was not found during signature calculation
+   * @throws InsufficientDataException  upon getting EOFException while reading given
+   *           InputStream even before reading given length
+   * @throws IOException                 upon connection error
+   * @throws InvalidKeyException
+   *           upon an invalid access key or secret key
+   * @throws NoResponseException         upon no response from server
+   * @throws XmlPullParserException      upon parsing response xml
+   * @throws ErrorResponseException      upon unsuccessful execution
+   * @throws InternalException           upon internal library error
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   * @throws InvalidResponseException    upon a non-xml response from server
+   */
+  public ReapResult removeStaleUploads(String bucketName, String prefix, long olderThanMillis, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    checkBucketName(bucketName);
+    if (olderThanMillis < 0) {
+      throw new InvalidArgumentException("age must be non-negative");
+    }
+    if (parallelism < 1) {
+      throw new InvalidArgumentException("parallelism must be at least 1");
     }
+
+    long cutoff = System.currentTimeMillis() - olderThanMillis;
+    return new UploadReaper(this, bucketName, prefix, cutoff, parallelism).run();
   }
 
   /**
@@ -5718,7 +7503,73 @@ public class MinioClient {
     throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
                     InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
                     InternalException, InvalidResponseException  {
+    HttpResponse response = executeListenBucketNotification(bucketName, prefix, suffix, events);
+    try (ResponseBody body = response.body()) {
+      MappingIterator<NotificationInfo> iterator = notificationIterator(body);
+      while (iterator.hasNextValue()) {
+        eventCallback.updateEvent(iterator.nextValue());
+      }
+    }
+  }
+
+
+  /**
+   * Subscribes to bucket notifications. Notifications are received in background and delivered to given listener by
+   * given number of worker threads, through a queue holding at most given number of notifications. The subscription
+   * reconnects on disconnect until it is closed.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code BucketNotificationSubscriber subscriber = minioClient.subscribeBucketNotification(
+   *     "my-bucketname", "", "", new String[] {"s3:ObjectCreated:*"}, listener, 1000, 4);
+   * ...
+   * System.out.println("dropped " + subscriber.droppedCount() + " notifications");
+   * subscriber.close(); }</pre>
+   *
+   * @param bucketName     Bucket name.
+   * @param prefix         Prefix of concerned objects events.
+   * @param suffix         Suffix of concerned objects events.
+   * @param events         List of events to watch.
+   * @param listener       Event handler.
+   * @param queueCapacity  Maximum number of notifications waiting to be delivered.
+   * @param workers        Number of threads delivering notifications to the listener.
+   *
+   * @return {@link BucketNotificationSubscriber} object to close the subscription and get its metrics.
+   *
+   * @throws InvalidBucketNameException  upon invalid bucket name is given
+   * @throws InvalidArgumentException    upon invalid value is passed to a method.
+   */
+  public BucketNotificationSubscriber subscribeBucketNotification(String bucketName, String prefix, String suffix,
+                                                                  String[] events, BucketEventListener listener,
+                                                                  int queueCapacity, int workers)
+    throws InvalidBucketNameException, InvalidArgumentException {
+    checkBucketName(bucketName);
+    if (events == null) {
+      throw new InvalidArgumentException("events cannot be null");
+    }
+    if (listener == null) {
+      throw new InvalidArgumentException("listener cannot be null");
+    }
+    if (queueCapacity < 1) {
+      throw new InvalidArgumentException("queue capacity must be at least 1");
+    }
+    if (workers < 1) {
+      throw new InvalidArgumentException("workers must be at least 1");
+    }
+
+    BucketNotificationSubscriber subscriber =
+        new BucketNotificationSubscriber(this, bucketName, prefix, suffix, events, listener, queueCapacity, workers);
+    subscriber.start();
+    return subscriber;
+  }
+
 
+  /**
+   * Executes listen bucket notification request and returns the response streaming notification records.
+   */
+  HttpResponse executeListenBucketNotification(String bucketName, String prefix, String suffix, String[] events)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidResponseException {
     Multimap<String,String> queryParamMap = HashMultimap.create();
     queryParamMap.put("prefix", prefix);
     queryParamMap.put("suffix", suffix);
@@ -5726,36 +7577,15 @@ public class MinioClient {
       queryParamMap.put("events", event);
     }
 
-    String bodyContent = "";
-    Scanner scanner = null;
-    HttpResponse response = null;
-    ObjectMapper mapper = new ObjectMapper();
+    return executeReq(Method.GET, getRegion(bucketName), bucketName, "", null, queryParamMap, null, 0);
+  }
 
-    try {
-      response = executeReq(Method.GET, getRegion(bucketName),
-          bucketName, "", null, queryParamMap, null, 0);
-      scanner = new Scanner(response.body().charStream());
-      scanner.useDelimiter("\n");
-      while (scanner.hasNext()) {
-        bodyContent = scanner.next().trim();
-        if (bodyContent.equals("")) {
-          continue;
-        }
-        NotificationInfo ni = mapper.readValue(bodyContent, NotificationInfo.class);
-        eventCallback.updateEvent(ni);
-      }
-    } catch (RuntimeException e) {
-      throw e;
-    } catch (Exception e) {
-      throw e;
-    } finally {
-      if (response != null) {
-        response.body().close();
-      }
-      if (scanner != null) {
-        scanner.close();
-      }
-    }
+
+  /**
+   * Returns iterator decoding notification records of given response body as they arrive.
+   */
+  static MappingIterator<NotificationInfo> notificationIterator(ResponseBody body) throws IOException {
+    return NOTIFICATION_READER.readValues(body.charStream());
   }
 
 
@@ -5783,87 +7613,163 @@ public class MinioClient {
   }
 
   /**
-   * Return available size of given input stream up to given expected read size.  If less data is available than
-   * expected read size, it returns how much data available to read.
+   * Returns part size used to upload data of given size, which is the size itself for single PUT.
    */
-  private int getAvailableSize(Object inputStream, int expectedReadSize) throws IOException, InternalException {
-    RandomAccessFile file = null;
-    BufferedInputStream stream = null;
-    if (inputStream instanceof RandomAccessFile) {
-      file = (RandomAccessFile) inputStream;
-    } else if (inputStream instanceof BufferedInputStream) {
-      stream = (BufferedInputStream) inputStream;
-    } else {
-      throw new InternalException("Unknown input stream. This should not happen.  "
-                                  + "Please report to https://github.com/minio/minio-java/issues/");
+  static long uploadPartSize(long size) throws InvalidArgumentException {
+    if (size <= MIN_MULTIPART_SIZE) {
+      return size;
     }
 
-    // hold current position of file/stream to reset back to this position.
-    long pos = 0;
-    if (file != null) {
-      pos = file.getFilePointer();
-    } else {
-      stream.mark(expectedReadSize);
+    return calculateMultipartSize(size)[0];
+  }
+
+  /**
+   * Returns part size of given part number for unknown sized stream.
+   */
+  static int unknownSizePartSize(int partNumber) {
+    int shift = Math.min((partNumber - 1) / UNKNOWN_SIZE_PART_GROWTH_INTERVAL, UNKNOWN_SIZE_PART_MAX_SHIFT);
+    return MIN_MULTIPART_SIZE << shift;
+  }
+
+  /**
+   * Returns part buffer pool set to this client, or a pool reusing single buffer if none.
+   */
+  private PartBufferPool partBufferPool() {
+    if (partBufferPool != null) {
+      return partBufferPool;
     }
 
-    // 16KiB buffer for optimization
-    byte[] buf = new byte[16384];
-    int bytesToRead = buf.length;
-    int bytesRead = 0;
-    int totalBytesRead = 0;
-    while (totalBytesRead < expectedReadSize) {
-      if ((expectedReadSize - totalBytesRead) < bytesToRead) {
-        bytesToRead = expectedReadSize - totalBytesRead;
-      }
+    return PartBufferPool.singleBufferPool();
+  }
 
-      if (file != null) {
-        bytesRead = file.read(buf, 0, bytesToRead);
-      } else {
-        bytesRead = stream.read(buf, 0, bytesToRead);
-      }
 
-      if (bytesRead < 0) {
-        // reached EOF
-        break;
+  /**
+   * Reads data from given stream into given buffer up to its limit and returns number of bytes read. The buffer is
+   * flipped to be ready for reading those bytes.
+   */
+  private static int readPart(InputStream stream, ByteBuffer buf) throws IOException {
+    if (buf.hasArray()) {
+      int bytesRead = ByteStreams.read(stream, buf.array(), buf.arrayOffset(), buf.limit());
+      buf.position(bytesRead);
+    } else {
+      ReadableByteChannel channel = Channels.newChannel(stream);
+      while (buf.hasRemaining() && channel.read(buf) >= 0) {
+        // continue till buffer is full or stream is ended.
       }
+    }
 
-      totalBytesRead += bytesRead;
+    buf.flip();
+    return buf.limit();
+  }
+
+
+  /**
+   * Returns given part headers with x-amz-checksum-crc32c header of given CRC32C checksum added.
+   */
+  static Map<String, String> crc32cHeaders(Map<String, String> headerMap, String crc32cHash) {
+    Map<String, String> headers = new HashMap<>();
+    if (headerMap != null) {
+      headers.putAll(headerMap);
     }
+    headers.put("x-amz-checksum-crc32c", crc32cHash);
+    return headers;
+  }
 
-    // reset back to saved position.
-    if (file != null) {
-      file.seek(pos);
-    } else {
-      stream.reset();
+
+  /**
+   * Returns true if given stream has no more data after reading given bytes read of expected read size.
+   */
+  private static boolean isEof(BufferedInputStream stream, int bytesRead, int expectedReadSize) throws IOException {
+    if (bytesRead < expectedReadSize) {
+      return true;
     }
 
-    return totalBytesRead;
+    // peek one byte to check whether stream is ended exactly at part boundary.
+    stream.mark(1);
+    boolean eof = stream.read() < 0;
+    stream.reset();
+    return eof;
   }
 
 
   /**
-   * Enables HTTP call tracing and written to traceStream.
+   * Enables tracing of every HTTP call written as text to traceStream.  It is same as setting {@link Tracer} of
+   * sample rate 1 with a sink writing text, so calls are not blocked by writing to traceStream.  At most 1024 records
+   * wait to be written, and records of calls made while that many are waiting are dropped instead of blocking the
+   * calls.  Tracer previously enabled by this method is closed.
    *
    * @param traceStream {@link OutputStream} for writing HTTP call tracing.
    *
    * @see #traceOff
+   * @see #setTracer
    */
-  public void traceOn(OutputStream traceStream) {
+  public synchronized void traceOn(OutputStream traceStream) {
     if (traceStream == null) {
       throw new NullPointerException();
     } else {
-      this.traceStream = new PrintWriter(new OutputStreamWriter(traceStream, StandardCharsets.UTF_8), true);
+      Tracer tracer = new Tracer(new TextTraceSink(traceStream), 1, 0, TRACE_BUFFER_SIZE);
+      setTracer(tracer);
+      this.textTracer = tracer;
     }
   }
 
 
   /**
-   * Disables HTTP call tracing previously enabled.
+   * Disables HTTP call tracing previously enabled.  Tracer enabled by {@link #traceOn} is closed after pending records
+   * are written, while tracer given to {@link #setTracer} is left open for its owner to close.
    *
    * @see #traceOn
    * @throws IOException                 upon connection error
    */
-  public void traceOff() throws IOException {
-    this.traceStream = null;
+  public synchronized void traceOff() throws IOException {
+    Tracer tracer = this.textTracer;
+    this.tracer = null;
+    this.textTracer = null;
+    if (tracer != null) {
+      tracer.close();
+    }
+  }
+
+
+  /**
+   * Sets tracer of HTTP calls of this client.  Trace records of sampled or slow calls are written to the sink of the
+   * tracer on its own thread.  Passing null disables tracing.  Tracer enabled by {@link #traceOn} is closed when
+   * replaced, while given tracer is owned by the caller, which may share it with other clients and closes it when it
+   * is not used anymore.
+   *
+   * </p><b>Example:</b><br>
+   * <pre>{@code // trace 1% of calls and every call slower than 2s.
+   * minioClient.setTracer(new Tracer(new TraceSink() {
+   *     public void write(TraceRecord record) {
+   *       logger.info(record.method() + " " + record.url() + " " + record.statusCode() + " "
+   *                   + record.durationNanos() / 1000000 + "ms " + record.requestId());
+   *     }
+   *   }, 0.01, 2000, 1024)); }</pre>
+   *
+   * @param tracer    Tracer or null.
+   */
+  public synchronized void setTracer(Tracer tracer) {
+    Tracer previous = this.textTracer;
+    this.textTracer = null;
+    this.tracer = tracer;
+    if (previous != null && previous != tracer) {
+      previous.close();
+    }
+  }
+
+
+  /**
+   * Date and formatted x-amz-date of a second.
+   */
+  private static class AmzDate {
+    private final long second;
+    private final DateTime date;
+    private final String value;
+
+    AmzDate(long second) {
+      this.second = second;
+      this.date = new DateTime(second * 1000);
+      this.value = date.toString(DateFormat.AMZ_DATE_FORMAT);
+    }
   }
 }
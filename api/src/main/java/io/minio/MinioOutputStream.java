@@ -0,0 +1,328 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.Checksum;
+
+import io.minio.messages.Part;
+
+
+/**
+ * OutputStream uploading written data as an object.
+ * <p>
+ * Written data is cut into parts where part size starts at 5MiB and grows as more parts are written. Once a part is
+ * full and more data is written, the part is uploaded in background with at most given number of parts being uploaded
+ * at a time. Multipart upload is started only when the first part is full, so small object is uploaded by single put
+ * object on {@link #close()}.
+ * </p>
+ * <p>
+ * {@link #close()} waits for all parts to be uploaded and completes the upload. {@link #abort()} cancels the upload
+ * and removes already uploaded parts. If a part fails to upload, the upload is aborted and the error is thrown by next
+ * write or close. This class is not thread-safe.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code try (MinioOutputStream out = minioClient.newObjectOutputStream("my-bucketname", "my-objectname")) {
+ *   out.write("hello".getBytes(StandardCharsets.UTF_8));
+ * } }</pre>
+ */
+public class MinioOutputStream extends OutputStream {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String objectName;
+  private final Map<String, String> headerMap;
+  private final Map<String, String> encryptionHeaders;
+  private final boolean crc32c;
+  private final PartBufferPool pool;
+  private final BoundedExecutor executor;
+  private final List<Future<Part>> parts = new ArrayList<>();
+
+  private ByteBuffer buf;
+  // CRC32C checksum of data written to current part buffer.
+  private Checksum checksum;
+  private int partNumber = 1;
+  // number of leading parts known to be uploaded successfully.
+  private int checkedParts = 0;
+  private String uploadId;
+  private boolean closed = false;
+  private volatile boolean aborted = false;
+
+
+  MinioOutputStream(MinioClient client, String bucketName, String objectName, Map<String, String> headerMap,
+                    Map<String, String> encryptionHeaders, boolean crc32c, PartBufferPool pool, int parallelism) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.objectName = objectName;
+    this.headerMap = headerMap;
+    this.encryptionHeaders = encryptionHeaders;
+    this.crc32c = crc32c;
+    this.pool = pool;
+    this.executor = new BoundedExecutor(parallelism);
+  }
+
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureWritable();
+    buf.put((byte) b);
+    if (checksum != null) {
+      checksum.update(b);
+    }
+  }
+
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || off + len > b.length) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    while (len > 0) {
+      ensureWritable();
+      int n = Math.min(len, buf.remaining());
+      buf.put(b, off, n);
+      if (checksum != null) {
+        checksum.update(b, off, n);
+      }
+      off += n;
+      len -= n;
+    }
+  }
+
+
+  /**
+   * Waits for all parts to be uploaded and completes the upload. Closing already closed or aborted stream has no
+   * effect.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    try {
+      if (uploadId == null) {
+        // all data fits in one part, do single put object.
+        if (buf == null) {
+          client.putObject(bucketName, objectName, new byte[0], 0, headerMap, null, 0);
+        } else {
+          buf.flip();
+          client.putObject(bucketName, objectName, buf, buf.limit(), headerMap, null, 0);
+        }
+        return;
+      }
+
+      if (buf != null) {
+        uploadPart();
+      }
+
+      Part[] totalParts = new Part[parts.size()];
+      int i = 0;
+      for (Future<Part> part : parts) {
+        totalParts[i++] = getPart(part);
+      }
+
+      client.completeMultipart(bucketName, objectName, uploadId, totalParts);
+    } catch (Exception e) {
+      abortQuietly();
+      throw toIoException(e);
+    } finally {
+      pool.release(buf);
+      buf = null;
+    }
+  }
+
+
+  /**
+   * Cancels the upload and removes already uploaded parts. Aborting already closed or aborted stream has no effect.
+   */
+  public void abort() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    try {
+      abortUpload();
+    } finally {
+      pool.release(buf);
+      buf = null;
+    }
+  }
+
+
+  /**
+   * Makes sure that current part buffer has room for at least one byte by uploading full part.
+   */
+  private void ensureWritable() throws IOException {
+    if (closed) {
+      throw new IOException("stream is closed");
+    }
+
+    if (buf != null && !buf.hasRemaining()) {
+      try {
+        if (uploadId == null) {
+          uploadId = client.initMultipartUpload(bucketName, objectName, headerMap, crc32c);
+        }
+        uploadPart();
+        checkUploadedParts();
+      } catch (Exception e) {
+        closed = true;
+        pool.release(buf);
+        buf = null;
+        abortQuietly();
+        throw toIoException(e);
+      }
+    }
+
+    if (buf == null) {
+      if (partNumber > MinioClient.MAX_MULTIPART_COUNT) {
+        throw new IOException("stream size is greater than allowed size 5TiB");
+      }
+      buf = pool.acquire(MinioClient.unknownSizePartSize(partNumber));
+      if (crc32c) {
+        checksum = Digest.newCrc32c();
+      }
+    }
+  }
+
+
+  /**
+   * Uploads current part buffer in background. The buffer is given back to the pool once the part is uploaded.
+   */
+  private void uploadPart() throws IOException {
+    final ByteBuffer data = buf;
+    final int number = partNumber;
+    final String crc32cHash = (checksum == null) ? null : Digest.encodeCrc32c(checksum);
+    data.flip();
+    buf = null;
+    checksum = null;
+    partNumber++;
+
+    Future<Part> future;
+    try {
+      future = executor.submit(new Callable<Part>() {
+        @Override
+        public Part call() throws Exception {
+          try {
+            if (aborted) {
+              return null;
+            }
+            Map<String, String> headers = encryptionHeaders;
+            if (crc32cHash != null) {
+              headers = MinioClient.crc32cHeaders(encryptionHeaders, crc32cHash);
+            }
+            String etag = client.putObject(bucketName, objectName, data, data.limit(), headers, uploadId, number);
+            return new Part(number, etag, crc32cHash);
+          } finally {
+            pool.release(data);
+          }
+        }
+      });
+    } catch (IOException | RuntimeException e) {
+      pool.release(data);
+      throw e;
+    }
+
+    parts.add(future);
+  }
+
+
+  /**
+   * Throws the error of a failed part if any.
+   */
+  private void checkUploadedParts() throws Exception {
+    while (checkedParts < parts.size() && parts.get(checkedParts).isDone()) {
+      getPart(parts.get(checkedParts));
+      checkedParts++;
+    }
+  }
+
+
+  /**
+   * Aborts multipart upload if started after waiting for running part uploads.
+   */
+  private void abortUpload() throws IOException {
+    aborted = true;
+    if (uploadId == null) {
+      return;
+    }
+
+    for (Future<Part> part : parts) {
+      try {
+        part.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException e) {
+        // error is already reported or ignored on abort.
+      }
+    }
+
+    try {
+      client.abortMultipartUpload(bucketName, objectName, uploadId);
+    } catch (Exception e) {
+      throw toIoException(e);
+    }
+  }
+
+
+  /**
+   * Aborts the upload ignoring any error as the upload is already failed.
+   */
+  private void abortQuietly() {
+    try {
+      abortUpload();
+    } catch (IOException e) {
+      // ignore as the error causing the abort is reported.
+    }
+  }
+
+
+  private static Part getPart(Future<Part> part) throws Exception {
+    try {
+      return part.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      throw e;
+    }
+  }
+
+
+  private static IOException toIoException(Exception e) {
+    if (e instanceof IOException) {
+      return (IOException) e;
+    }
+    if (e instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    return new IOException(e);
+  }
+}
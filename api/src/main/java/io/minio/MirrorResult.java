@@ -0,0 +1,103 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Progress and result of mirroring a directory to a bucket. Counters are updated while the mirror is running.
+ */
+public class MirrorResult {
+  private final AtomicLong scannedFiles = new AtomicLong();
+  private final AtomicLong uploadedFiles = new AtomicLong();
+  private final AtomicLong skippedFiles = new AtomicLong();
+  private final AtomicLong uploadedBytes = new AtomicLong();
+  private final Map<String, Exception> errors = new ConcurrentHashMap<>();
+
+
+  /**
+   * Returns number of local files found.
+   */
+  public long scannedFiles() {
+    return scannedFiles.get();
+  }
+
+
+  /**
+   * Returns number of files uploaded.
+   */
+  public long uploadedFiles() {
+    return uploadedFiles.get();
+  }
+
+
+  /**
+   * Returns number of files skipped as unchanged.
+   */
+  public long skippedFiles() {
+    return skippedFiles.get();
+  }
+
+
+  /**
+   * Returns total bytes of files uploaded.
+   */
+  public long uploadedBytes() {
+    return uploadedBytes.get();
+  }
+
+
+  /**
+   * Returns number of files failed to read or upload.
+   */
+  public long failedFiles() {
+    return errors.size();
+  }
+
+
+  /**
+   * Returns errors of failed files keyed by file path.
+   */
+  public Map<String, Exception> errors() {
+    return Collections.unmodifiableMap(errors);
+  }
+
+
+  void fileScanned() {
+    scannedFiles.incrementAndGet();
+  }
+
+
+  void fileUploaded(long size) {
+    uploadedFiles.incrementAndGet();
+    uploadedBytes.addAndGet(size);
+  }
+
+
+  void fileSkipped() {
+    skippedFiles.incrementAndGet();
+  }
+
+
+  void fileFailed(String path, Exception e) {
+    errors.put(path, e);
+  }
+}
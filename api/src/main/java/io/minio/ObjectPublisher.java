@@ -0,0 +1,86 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Publisher of object data as chunks of bytes read as the subscriber requests them.
+ * <p>
+ * The object is requested upon first demand and each requested chunk is read from the response. Each subscription
+ * downloads the object on its own.
+ * </p>
+ */
+class ObjectPublisher implements Flow.Publisher<ByteBuffer> {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String objectName;
+  private final int chunkSize;
+
+
+  ObjectPublisher(MinioClient client, String bucketName, String objectName, int chunkSize) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.objectName = objectName;
+    this.chunkSize = chunkSize;
+  }
+
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    new PullSubscription<ByteBuffer>(subscriber) {
+      private InputStream stream;
+
+      @Override
+      ByteBuffer next() throws Exception {
+        if (stream == null) {
+          stream = client.getObject(bucketName, objectName);
+        }
+
+        byte[] buf = new byte[chunkSize];
+        int n = 0;
+        // fill the chunk unless end of stream is reached.
+        while (n < buf.length) {
+          int read = stream.read(buf, n, buf.length - n);
+          if (read < 0) {
+            break;
+          }
+          n += read;
+        }
+
+        if (n == 0) {
+          return null;
+        }
+        return ByteBuffer.wrap(buf, 0, n);
+      }
+
+      @Override
+      void release() {
+        if (stream != null) {
+          try {
+            stream.close();
+          } catch (IOException e) {
+            // ignore as data is not needed anymore.
+          }
+        }
+      }
+    }.start();
+  }
+}
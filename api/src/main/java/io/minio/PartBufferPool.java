@@ -0,0 +1,196 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * A pool of reusable part buffers shared by stream uploads, bounded by total bytes of buffers it holds.
+ * <p>
+ * A part buffer is taken from the pool before a part is read from the stream and is given back once the part is
+ * acknowledged by the server. When the byte budget is exhausted, uploads wait until another upload gives back its
+ * buffer. A single buffer larger than the budget is allowed only when no other buffer is in use, so that an upload
+ * never waits forever.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code minioClient.setPartBufferPool(new PartBufferPool(512L * 1024 * 1024, true)); }</pre>
+ */
+public class PartBufferPool {
+  private final long maxBytes;
+  private final boolean direct;
+  // free buffers available for reuse.
+  private final List<ByteBuffer> freeBuffers = new ArrayList<>();
+  // buffers handed out and not yet released.
+  private final Set<ByteBuffer> usedBuffers = Collections.newSetFromMap(new IdentityHashMap<ByteBuffer, Boolean>());
+  // total capacity of free and used buffers.
+  private long allocatedBytes = 0;
+  private long usedBytes = 0;
+
+
+  /**
+   * Creates a part buffer pool holding up to given bytes of heap buffers.
+   *
+   * @param maxBytes  Maximum total bytes of buffers held by the pool.
+   */
+  public PartBufferPool(long maxBytes) {
+    this(maxBytes, false);
+  }
+
+
+  /**
+   * Creates a part buffer pool holding up to given bytes of buffers.
+   *
+   * @param maxBytes  Maximum total bytes of buffers held by the pool.
+   * @param direct    Allocate direct buffers outside of Java heap if true.
+   */
+  public PartBufferPool(long maxBytes, boolean direct) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maximum bytes must be greater than zero");
+    }
+
+    this.maxBytes = maxBytes;
+    this.direct = direct;
+  }
+
+
+  /**
+   * Private constructor to create a pool with no budget which lends one buffer at a time.
+   */
+  private PartBufferPool() {
+    this.maxBytes = 0;
+    this.direct = false;
+  }
+
+
+  /**
+   * Returns a pool which reuses a single heap buffer.
+   */
+  static PartBufferPool singleBufferPool() {
+    return new PartBufferPool();
+  }
+
+
+  /**
+   * Returns maximum total bytes of buffers held by this pool.
+   */
+  public long maxBytes() {
+    return maxBytes;
+  }
+
+
+  /**
+   * Returns total bytes of buffers currently in use.
+   */
+  public synchronized long usedBytes() {
+    return usedBytes;
+  }
+
+
+  /**
+   * Returns a cleared buffer having at least given capacity and its limit set to given size. Waits until enough
+   * bytes are available in the pool.
+   */
+  synchronized ByteBuffer acquire(int size) throws InterruptedIOException {
+    while (true) {
+      ByteBuffer buffer = pollFreeBuffer(size);
+      if (buffer == null) {
+        // drop free buffers too small to be reused to make room for new one.
+        Iterator<ByteBuffer> iterator = freeBuffers.iterator();
+        while (iterator.hasNext()) {
+          allocatedBytes -= iterator.next().capacity();
+          iterator.remove();
+        }
+      }
+
+      if (buffer == null && (allocatedBytes + size <= maxBytes || usedBytes == 0)) {
+        buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        allocatedBytes += size;
+      }
+
+      if (buffer != null) {
+        usedBuffers.add(buffer);
+        usedBytes += buffer.capacity();
+        buffer.clear();
+        buffer.limit(size);
+        return buffer;
+      }
+
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("interrupted while waiting for part buffer");
+      }
+    }
+  }
+
+
+  /**
+   * Gives back given buffer to the pool. Releasing null is a no-op.
+   */
+  synchronized void release(ByteBuffer buffer) {
+    if (buffer == null) {
+      return;
+    }
+
+    if (!usedBuffers.remove(buffer)) {
+      throw new IllegalArgumentException("buffer is not in use from this pool");
+    }
+
+    usedBytes -= buffer.capacity();
+    if (allocatedBytes > maxBytes && allocatedBytes > buffer.capacity()) {
+      // buffer exceeding the budget is kept only if it is the only buffer of the pool.
+      allocatedBytes -= buffer.capacity();
+    } else {
+      freeBuffers.add(buffer);
+    }
+
+    notifyAll();
+  }
+
+
+  /**
+   * Removes and returns smallest free buffer having at least given capacity, or null if none.
+   */
+  private ByteBuffer pollFreeBuffer(int size) {
+    int foundIndex = -1;
+    int index = 0;
+    for (ByteBuffer buffer : freeBuffers) {
+      if (buffer.capacity() >= size
+          && (foundIndex < 0 || buffer.capacity() < freeBuffers.get(foundIndex).capacity())) {
+        foundIndex = index;
+      }
+      index++;
+    }
+
+    if (foundIndex < 0) {
+      return null;
+    }
+
+    // remove by index as ByteBuffer.equals() compares content.
+    return freeBuffers.remove(foundIndex);
+  }
+}
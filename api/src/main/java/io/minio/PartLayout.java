@@ -0,0 +1,205 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.common.io.BaseEncoding;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+
+
+/**
+ * Part boundaries and ETag of an object used to verify its data against the ETag.
+ * <p>
+ * ETag of an object uploaded by a single PUT is MD5 of its data. ETag of an object uploaded by multipart upload is MD5
+ * of concatenated MD5s of its parts followed by '-' and number of parts, where size of each part is learnt by HEAD
+ * request of the part number. Part sizes may differ, e.g. parts of a stream of unknown size grow, so every part is
+ * looked up.
+ * </p>
+ */
+class PartLayout {
+  private final String etag;
+  private final byte[] expected;
+  private final boolean multipart;
+  // start offsets of parts followed by object length.
+  private final long[] offsets;
+
+
+  private PartLayout(String etag, byte[] expected, boolean multipart, long[] offsets) {
+    this.etag = etag;
+    this.expected = expected;
+    this.multipart = multipart;
+    this.offsets = offsets;
+  }
+
+
+  /**
+   * Returns part layout of given object, where part sizes are looked up by at most given number of requests at a
+   * time.
+   */
+  static PartLayout of(final MinioClient client, final String bucketName, final String objectName, int parallelism)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    ObjectStat stat = client.statObject(bucketName, objectName);
+    List<String> sse = stat.httpHeaders().get("x-amz-server-side-encryption");
+    if (sse != null && sse.contains("aws:kms")) {
+      throw new InvalidArgumentException("ETag of object encrypted by KMS is not MD5 of its data");
+    }
+
+    final String etag = stat.etag();
+    int index = etag.indexOf('-');
+    byte[] expected = decodeMd5(etag, (index < 0) ? etag : etag.substring(0, index));
+    if (index < 0) {
+      return new PartLayout(etag, expected, false, new long[] {0, stat.length()});
+    }
+
+    int partCount;
+    try {
+      partCount = Integer.parseInt(etag.substring(index + 1));
+    } catch (NumberFormatException e) {
+      throw new InvalidArgumentException("ETag '" + etag + "' has invalid part count");
+    }
+    if (partCount < 1) {
+      throw new InvalidArgumentException("ETag '" + etag + "' has invalid part count");
+    }
+
+    BoundedExecutor executor = new BoundedExecutor(parallelism);
+    List<Future<Long>> sizes = new ArrayList<>(partCount);
+    long[] offsets = new long[partCount + 1];
+    try {
+      for (int i = 0; i < partCount && !executor.failed(); i++) {
+        final int partNumber = i + 1;
+        sizes.add(executor.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+              return client.partLength(bucketName, objectName, partNumber, etag);
+            }
+          }));
+      }
+
+      for (int i = 0; i < sizes.size(); i++) {
+        offsets[i + 1] = offsets[i] + BoundedExecutor.get(sizes.get(i));
+      }
+    } finally {
+      BoundedExecutor.cancel(sizes);
+    }
+
+    if (sizes.size() != partCount) {
+      throw new InternalException("part sizes of '" + objectName + "' are not looked up");
+    }
+    if (offsets[partCount] != stat.length()) {
+      throw new IOException("part sizes of '" + objectName + "' sum up to " + offsets[partCount] + " bytes, but object "
+                            + "size is " + stat.length() + " bytes");
+    }
+
+    return new PartLayout(etag, expected, true, offsets);
+  }
+
+
+  private static byte[] decodeMd5(String etag, String hex) throws InvalidArgumentException {
+    if (hex.length() != 32) {
+      throw new InvalidArgumentException("ETag '" + etag + "' is not MD5 of data");
+    }
+
+    try {
+      return BaseEncoding.base16().decode(hex.toUpperCase(Locale.US));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidArgumentException("ETag '" + etag + "' is not MD5 of data");
+    }
+  }
+
+
+  /**
+   * Returns ETag without quotes.
+   */
+  String etag() {
+    return etag;
+  }
+
+
+  /**
+   * Returns number of parts, which is 1 for an object not uploaded by multipart upload.
+   */
+  int partCount() {
+    return offsets.length - 1;
+  }
+
+
+  /**
+   * Returns offset of given zero based part index, or object length for index of part count.
+   */
+  long offset(int index) {
+    return offsets[index];
+  }
+
+
+  /**
+   * Returns size of given zero based part index.
+   */
+  long size(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+
+  /**
+   * Returns object length.
+   */
+  long length() {
+    return offsets[offsets.length - 1];
+  }
+
+
+  /**
+   * Verifies given MD5s of parts against the ETag, where given MD5 digest is used for multipart ETag.
+   */
+  void verify(byte[][] partDigests, MessageDigest md5Digest) throws IOException {
+    byte[] actual = partDigests[0];
+    if (multipart) {
+      md5Digest.reset();
+      for (byte[] digest : partDigests) {
+        md5Digest.update(digest);
+      }
+      actual = md5Digest.digest();
+    }
+
+    if (!MessageDigest.isEqual(expected, actual)) {
+      String hex = BaseEncoding.base16().lowerCase().encode(actual);
+      if (multipart) {
+        hex += "-" + partDigests.length;
+      }
+      throw new IOException("ETag mismatch; expected " + etag + ", got " + hex);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+import io.minio.messages.Item;
+
+
+/**
+ * Downloads objects of a prefix to a local directory.
+ * <p>
+ * Objects are submitted for download as list pages arrive, with at most given number of objects being downloaded at
+ * a time. Size and ETag of listed objects are used for resumable download, so no object is stat-ed. An object failing
+ * to download is recorded in {@link DownloadResult} and does not stop the download.
+ * </p>
+ */
+class PrefixDownload {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String prefix;
+  private final Path dir;
+  private final BoundedExecutor executor;
+  private final DownloadResult result = new DownloadResult();
+
+
+  PrefixDownload(MinioClient client, String bucketName, String prefix, Path dir, int parallelism) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.prefix = (prefix == null) ? "" : prefix;
+    this.dir = dir.toAbsolutePath().normalize();
+    this.executor = new BoundedExecutor(parallelism);
+  }
+
+
+  /**
+   * Runs the download and returns its result once all downloads are finished.
+   */
+  DownloadResult run()
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    try {
+      for (Result<Item> r : client.listObjects(bucketName, prefix, true)) {
+        final Item item = r.get();
+        if (item.isDir() || item.objectName().endsWith("/")) {
+          continue;
+        }
+
+        result.objectListed();
+        executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+              try {
+                Path filePath = filePath(item.objectName());
+                Files.createDirectories(filePath.getParent());
+                long bytes = client.downloadObject(bucketName, item.objectName(), null, filePath, item.objectSize(),
+                                                   item.etag().replaceAll("\"", ""));
+                result.objectDownloaded(bytes);
+              } catch (Exception e) {
+                result.objectFailed(item.objectName(), e);
+              }
+              return null;
+            }
+          });
+      }
+    } finally {
+      executor.awaitTasks();
+      result.finished();
+    }
+
+    return result;
+  }
+
+
+  /**
+   * Returns file path of given object name, which is the directory followed by the object name without the prefix
+   * part up to its last slash.
+   */
+  private Path filePath(String objectName) throws InvalidArgumentException {
+    String name = objectName.substring(prefix.lastIndexOf('/') + 1);
+    Path filePath = dir.resolve(name).normalize();
+    if (!filePath.startsWith(dir) || filePath.equals(dir)) {
+      throw new InvalidArgumentException("object name '" + objectName + "' resolves outside of " + dir);
+    }
+    return filePath;
+  }
+}
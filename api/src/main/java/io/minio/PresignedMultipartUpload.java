@@ -0,0 +1,141 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Multipart upload started on the server whose parts are uploaded by other clients using presigned URLs.
+ * <p>
+ * Part N (starting at 1) is uploaded by HTTP PUT of its data to {@link #partUrl(int)}. Every part except the last one
+ * is {@link #partSize()} bytes and the last part is {@link #lastPartSize()} bytes. ETag response header of each part
+ * upload is passed to {@link MinioClient#completeMultipartUpload(String, String, String, String[])} to create the
+ * object.
+ * </p>
+ */
+public class PresignedMultipartUpload {
+  private final String bucketName;
+  private final String objectName;
+  private final String uploadId;
+  private final long size;
+  private final long partSize;
+  private final long lastPartSize;
+  private final List<String> partUrls;
+
+
+  PresignedMultipartUpload(String bucketName, String objectName, String uploadId, long size, long partSize,
+                           long lastPartSize, List<String> partUrls) {
+    this.bucketName = bucketName;
+    this.objectName = objectName;
+    this.uploadId = uploadId;
+    this.size = size;
+    this.partSize = partSize;
+    this.lastPartSize = lastPartSize;
+    this.partUrls = Collections.unmodifiableList(partUrls);
+  }
+
+
+  /**
+   * Returns bucket name.
+   */
+  public String bucketName() {
+    return bucketName;
+  }
+
+
+  /**
+   * Returns object name.
+   */
+  public String objectName() {
+    return objectName;
+  }
+
+
+  /**
+   * Returns upload ID.
+   */
+  public String uploadId() {
+    return uploadId;
+  }
+
+
+  /**
+   * Returns object size.
+   */
+  public long size() {
+    return size;
+  }
+
+
+  /**
+   * Returns size of every part except the last one.
+   */
+  public long partSize() {
+    return partSize;
+  }
+
+
+  /**
+   * Returns size of the last part.
+   */
+  public long lastPartSize() {
+    return lastPartSize;
+  }
+
+
+  /**
+   * Returns number of parts.
+   */
+  public int partCount() {
+    return partUrls.size();
+  }
+
+
+  /**
+   * Returns byte offset of given part number in the object.
+   */
+  public long partOffset(int partNumber) {
+    checkPartNumber(partNumber);
+    return (partNumber - 1) * partSize;
+  }
+
+
+  /**
+   * Returns presigned URL to upload given part number.
+   */
+  public String partUrl(int partNumber) {
+    checkPartNumber(partNumber);
+    return partUrls.get(partNumber - 1);
+  }
+
+
+  /**
+   * Returns presigned URLs of all parts ordered by part number.
+   */
+  public List<String> partUrls() {
+    return partUrls;
+  }
+
+
+  private void checkPartNumber(int partNumber) {
+    if (partNumber < 1 || partNumber > partUrls.size()) {
+      throw new IllegalArgumentException("part number must be in range of 1 to " + partUrls.size());
+    }
+  }
+}
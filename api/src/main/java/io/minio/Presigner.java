@@ -0,0 +1,361 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.google.common.io.BaseEncoding;
+
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidExpiresRangeException;
+import io.minio.http.Method;
+import okhttp3.HttpUrl;
+
+
+/**
+ * Presigned URL generator which works without network access.
+ * <p>
+ * Unlike {@link MinioClient#getPresignedObjectUrl}, bucket region is never looked up from the server; it is the
+ * region pinned by {@link #setBucketRegion(String, String)}, else the region of the client, else us-east-1. URL prefix
+ * of each bucket and the signing key of each region and day are computed once and reused, so that generating URLs in
+ * bulk costs little more than the two HMAC-SHA256 and one SHA-256 calculations per URL. This class is thread-safe.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code Presigner presigner = minioClient.newPresigner();
+ * presigner.setBucketRegion("my-bucketname", "us-west-2");
+ * String url = presigner.presignedGetObject("my-bucketname", "my-objectname", 60 * 60);
+ * System.out.println(url); }</pre>
+ */
+public class Presigner {
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+  private static final int DEFAULT_EXPIRY_TIME = 7 * 24 * 3600;
+
+  private final HttpUrl baseUrl;
+  private final String accessKey;
+  private final String secretKey;
+  private final String region;
+  private final Map<String, String> bucketRegions = new ConcurrentHashMap<>();
+  private final Map<String, BucketTarget> bucketTargets = new ConcurrentHashMap<>();
+  private final Map<String, SigningKey> signingKeys = new ConcurrentHashMap<>();
+  private volatile Timestamp timestamp = new Timestamp(0);
+
+  private final ThreadLocal<Mac> mac = new ThreadLocal<Mac>() {
+    @Override
+    protected Mac initialValue() {
+      try {
+        return Mac.getInstance("HmacSHA256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  };
+
+  private final ThreadLocal<MessageDigest> sha256Digest = new ThreadLocal<MessageDigest>() {
+    @Override
+    protected MessageDigest initialValue() {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  };
+
+  private final ThreadLocal<StringBuilder> builder = new ThreadLocal<StringBuilder>() {
+    @Override
+    protected StringBuilder initialValue() {
+      return new StringBuilder(512);
+    }
+  };
+
+
+  Presigner(HttpUrl baseUrl, String accessKey, String secretKey, String region) {
+    this.baseUrl = baseUrl;
+    this.accessKey = accessKey;
+    this.secretKey = secretKey;
+    this.region = (region == null || region.isEmpty()) ? "us-east-1" : region;
+  }
+
+
+  /**
+   * Pins region of given bucket used for signing.
+   *
+   * @param bucketName  Bucket name.
+   * @param region      Region of the bucket.
+   */
+  public void setBucketRegion(String bucketName, String region) {
+    bucketRegions.put(bucketName, region);
+    bucketTargets.remove(bucketName);
+  }
+
+
+  /**
+   * Returns presigned URL to download given object with given expiry time in seconds.
+   */
+  public String presignedGetObject(String bucketName, String objectName, int expires)
+    throws InvalidBucketNameException, InvalidExpiresRangeException, NoSuchAlgorithmException, InvalidKeyException {
+    return presign(Method.GET, bucketName, objectName, expires, null, System.currentTimeMillis());
+  }
+
+
+  /**
+   * Returns presigned URL to upload given object with given expiry time in seconds.
+   */
+  public String presignedPutObject(String bucketName, String objectName, int expires)
+    throws InvalidBucketNameException, InvalidExpiresRangeException, NoSuchAlgorithmException, InvalidKeyException {
+    return presign(Method.PUT, bucketName, objectName, expires, null, System.currentTimeMillis());
+  }
+
+
+  /**
+   * Returns presigned URLs to download given objects in the bucket with given expiry time in seconds. All URLs are
+   * signed with the same timestamp.
+   */
+  public List<String> presignedGetObjects(String bucketName, Iterable<String> objectNames, int expires)
+    throws InvalidBucketNameException, InvalidExpiresRangeException, NoSuchAlgorithmException, InvalidKeyException {
+    long now = System.currentTimeMillis();
+    List<String> urls = new ArrayList<>();
+    for (String objectName : objectNames) {
+      urls.add(presign(Method.GET, bucketName, objectName, expires, null, now));
+    }
+    return urls;
+  }
+
+
+  /**
+   * Returns presigned URL of given HTTP method, bucket, object, expiry time in seconds and additional query
+   * parameters like response-content-type.
+   */
+  public String presign(Method method, String bucketName, String objectName, int expires,
+                        Map<String, String> reqParams)
+    throws InvalidBucketNameException, InvalidExpiresRangeException, NoSuchAlgorithmException, InvalidKeyException {
+    return presign(method, bucketName, objectName, expires, reqParams, System.currentTimeMillis());
+  }
+
+
+  /**
+   * Returns presigned URL signed at given time in milliseconds since epoch.
+   */
+  String presign(Method method, String bucketName, String objectName, int expires, Map<String, String> reqParams,
+                 long now)
+    throws InvalidBucketNameException, InvalidExpiresRangeException, NoSuchAlgorithmException, InvalidKeyException {
+    if (expires < 1 || expires > DEFAULT_EXPIRY_TIME) {
+      throw new InvalidExpiresRangeException(expires, "expires must be in range of 1 to " + DEFAULT_EXPIRY_TIME);
+    }
+
+    BucketTarget target = bucketTarget(bucketName);
+    Timestamp ts = timestamp(now);
+    SigningKey key = signingKey(target.region, ts.date);
+
+    String path = target.path;
+    if (objectName != null) {
+      path = path + "/" + S3Escaper.encodePath(objectName);
+    } else if (path.isEmpty()) {
+      path = "/";
+    }
+
+    StringBuilder sb = builder.get();
+
+    // canonical query string, where keys are sorted.
+    sb.setLength(0);
+    if (reqParams == null || reqParams.isEmpty()) {
+      sb.append("X-Amz-Algorithm=").append(ALGORITHM)
+        .append("&X-Amz-Credential=").append(key.encodedCredential)
+        .append("&X-Amz-Date=").append(ts.amzDate)
+        .append("&X-Amz-Expires=").append(expires)
+        .append("&X-Amz-SignedHeaders=host");
+    } else {
+      TreeMap<String, String> params = new TreeMap<>();
+      for (Map.Entry<String, String> entry : reqParams.entrySet()) {
+        params.put(S3Escaper.encode(entry.getKey()), S3Escaper.encode(entry.getValue()));
+      }
+      params.put("X-Amz-Algorithm", ALGORITHM);
+      params.put("X-Amz-Credential", key.encodedCredential);
+      params.put("X-Amz-Date", ts.amzDate);
+      params.put("X-Amz-Expires", Integer.toString(expires));
+      params.put("X-Amz-SignedHeaders", "host");
+      for (Map.Entry<String, String> entry : params.entrySet()) {
+        if (sb.length() > 0) {
+          sb.append('&');
+        }
+        sb.append(entry.getKey()).append('=').append(entry.getValue());
+      }
+    }
+    String query = sb.toString();
+
+    // canonical request.
+    sb.setLength(0);
+    sb.append(method.toString()).append('\n')
+      .append(path).append('\n')
+      .append(query).append('\n')
+      .append("host:").append(target.host).append("\n\n")
+      .append("host\n")
+      .append(UNSIGNED_PAYLOAD);
+    MessageDigest digest = sha256Digest.get();
+    String canonicalRequestHash = hex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+
+    // string to sign.
+    sb.setLength(0);
+    sb.append(ALGORITHM).append('\n')
+      .append(ts.amzDate).append('\n')
+      .append(key.scope).append('\n')
+      .append(canonicalRequestHash);
+    Mac hmac = mac.get();
+    hmac.init(key.key);
+    String signature = hex(hmac.doFinal(sb.toString().getBytes(StandardCharsets.UTF_8)));
+
+    sb.setLength(0);
+    sb.append(target.urlPrefix).append(path).append('?').append(query).append("&X-Amz-Signature=").append(signature);
+    return sb.toString();
+  }
+
+
+  /**
+   * Returns cached URL target of given bucket.
+   */
+  private BucketTarget bucketTarget(String bucketName) throws InvalidBucketNameException {
+    BucketTarget target = bucketTargets.get(bucketName);
+    if (target != null) {
+      return target;
+    }
+
+    MinioClient.checkBucketName(bucketName);
+
+    String bucketRegion = bucketRegions.get(bucketName);
+    if (bucketRegion == null) {
+      bucketRegion = region;
+    }
+
+    String host = baseUrl.host();
+    String path = "/" + S3Escaper.encode(bucketName);
+    if (host.equals("s3.amazonaws.com")) {
+      host = AwsS3Endpoints.INSTANCE.endpoint(bucketRegion);
+      if (!(bucketName.contains(".") && baseUrl.isHttps())) {
+        // use virtual host style same as the client.
+        host = bucketName + "." + host;
+        path = "";
+      }
+    }
+
+    String hostHeader = host;
+    if (!(baseUrl.scheme().equals("http") && baseUrl.port() == 80)
+        && !(baseUrl.scheme().equals("https") && baseUrl.port() == 443)) {
+      hostHeader = host + ":" + baseUrl.port();
+    }
+
+    target = new BucketTarget(bucketRegion, baseUrl.scheme() + "://" + hostHeader, hostHeader, path);
+    bucketTargets.put(bucketName, target);
+    return target;
+  }
+
+
+  /**
+   * Returns timestamp of given time, which is cached for one second.
+   */
+  private Timestamp timestamp(long now) {
+    long second = now / 1000;
+    Timestamp ts = this.timestamp;
+    if (ts.second != second) {
+      ts = new Timestamp(second);
+      this.timestamp = ts;
+    }
+    return ts;
+  }
+
+
+  /**
+   * Returns signing key of given region and date, which is cached per region for the day.
+   */
+  private SigningKey signingKey(String region, String date) throws NoSuchAlgorithmException, InvalidKeyException {
+    SigningKey key = signingKeys.get(region);
+    if (key == null || !key.date.equals(date)) {
+      key = new SigningKey(date, region);
+      signingKeys.put(region, key);
+    }
+    return key;
+  }
+
+
+  private static String hex(byte[] data) {
+    return BaseEncoding.base16().lowerCase().encode(data);
+  }
+
+
+  /**
+   * URL prefix, host and path of a bucket.
+   */
+  private static class BucketTarget {
+    private final String region;
+    private final String urlPrefix;
+    private final String host;
+    private final String path;
+
+    BucketTarget(String region, String urlPrefix, String host, String path) {
+      this.region = region;
+      this.urlPrefix = urlPrefix;
+      this.host = host;
+      this.path = path;
+    }
+  }
+
+
+  /**
+   * Formatted dates of a second.
+   */
+  private static class Timestamp {
+    private final long second;
+    private final String amzDate;
+    private final String date;
+
+    Timestamp(long second) {
+      this.second = second;
+      this.amzDate = DateFormat.AMZ_DATE_FORMAT.print(second * 1000);
+      this.date = amzDate.substring(0, 8);
+    }
+  }
+
+
+  /**
+   * Signing key, scope and encoded credential of a region and a day.
+   */
+  private class SigningKey {
+    private final String date;
+    private final String scope;
+    private final String encodedCredential;
+    private final SecretKeySpec key;
+
+    SigningKey(String date, String region) throws NoSuchAlgorithmException, InvalidKeyException {
+      this.date = date;
+      this.scope = date + "/" + region + "/s3/aws4_request";
+      this.encodedCredential = S3Escaper.encode(accessKey + "/" + scope);
+      this.key = new SecretKeySpec(Signer.signingKey(secretKey, date, region), "HmacSHA256");
+    }
+  }
+}
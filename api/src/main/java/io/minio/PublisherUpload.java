@@ -0,0 +1,155 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Subscriber uploading chunks of bytes of a publisher as an object.
+ * <p>
+ * One chunk is requested at a time and the next chunk is requested only after the previous chunk is written to
+ * {@link MinioOutputStream}, which uploads parts in background. Writing is done on a worker thread so that the
+ * publisher is never blocked. The returned future completes once the upload is completed or aborted.
+ * </p>
+ */
+class PublisherUpload implements Flow.Subscriber<ByteBuffer> {
+  // signal of completion of the publisher.
+  private static final Object COMPLETE = new Object();
+
+  private final MinioOutputStream stream;
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+  // chunks, COMPLETE or error of the publisher to be handled in order.
+  private final Queue<Object> signals = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger wip = new AtomicInteger();
+  private Flow.Subscription subscription;
+  private boolean done = false;
+
+
+  PublisherUpload(MinioOutputStream stream) {
+    this.stream = stream;
+  }
+
+
+  CompletableFuture<Void> result() {
+    return result;
+  }
+
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+
+    this.subscription = subscription;
+    subscription.request(1);
+  }
+
+
+  @Override
+  public void onNext(ByteBuffer item) {
+    signal(item);
+  }
+
+
+  @Override
+  public void onError(Throwable throwable) {
+    signal(throwable);
+  }
+
+
+  @Override
+  public void onComplete() {
+    signal(COMPLETE);
+  }
+
+
+  private void signal(Object signal) {
+    signals.add(signal);
+    if (wip.getAndIncrement() == 0) {
+      BoundedExecutor.WORKERS.execute(new Runnable() {
+          @Override
+          public void run() {
+            drain();
+          }
+        });
+    }
+  }
+
+
+  private void drain() {
+    int missed = 1;
+    do {
+      Object signal;
+      while ((signal = signals.poll()) != null) {
+        if (!done) {
+          handle(signal);
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+
+  private void handle(Object signal) {
+    try {
+      if (signal == COMPLETE) {
+        done = true;
+        stream.close();
+        result.complete(null);
+      } else if (signal instanceof Throwable) {
+        done = true;
+        stream.abort();
+        result.completeExceptionally((Throwable) signal);
+      } else {
+        write((ByteBuffer) signal);
+        subscription.request(1);
+      }
+    } catch (IOException | RuntimeException e) {
+      if (!done) {
+        done = true;
+        subscription.cancel();
+        try {
+          stream.abort();
+        } catch (IOException ex) {
+          e.addSuppressed(ex);
+        }
+      }
+      result.completeExceptionally(e);
+    }
+  }
+
+
+  private void write(ByteBuffer chunk) throws IOException {
+    if (chunk.hasArray()) {
+      stream.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+      chunk.position(chunk.limit());
+      return;
+    }
+
+    byte[] buf = new byte[chunk.remaining()];
+    chunk.get(buf);
+    stream.write(buf);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Subscription emitting elements pulled from a blocking source only while the subscriber has demand.
+ * <p>
+ * Elements are pulled and emitted on a worker thread by one drain loop at a time, so neither the subscriber nor the
+ * thread calling {@link #request(long)} is blocked by I/O. Without demand, no element is pulled and no thread is used.
+ * Resources are released by the drain loop once the source is exhausted, fails or the subscription is cancelled.
+ * </p>
+ */
+abstract class PullSubscription<T> implements Flow.Subscription {
+  private final Flow.Subscriber<? super T> subscriber;
+  private final AtomicLong requested = new AtomicLong();
+  // number of drain requests, where the drain loop runs while it is non-zero.
+  private final AtomicInteger wip = new AtomicInteger();
+  private volatile boolean cancelled = false;
+  private volatile IllegalArgumentException invalidRequest;
+  private boolean done = false;
+
+
+  PullSubscription(Flow.Subscriber<? super T> subscriber) {
+    this.subscriber = subscriber;
+  }
+
+
+  /**
+   * Returns next element or null if the source is exhausted. Called only on drain loop.
+   */
+  abstract T next() throws Exception;
+
+
+  /**
+   * Releases resources held by the source. Called once on drain loop.
+   */
+  abstract void release();
+
+
+  /**
+   * Returns number of elements requested but not emitted yet.
+   */
+  long demand() {
+    return requested.get();
+  }
+
+
+  /**
+   * Starts the subscription by calling onSubscribe of the subscriber.
+   */
+  void start() {
+    subscriber.onSubscribe(this);
+  }
+
+
+  @Override
+  public void request(long n) {
+    if (n <= 0) {
+      invalidRequest = new IllegalArgumentException("non-positive request " + n);
+    } else {
+      long current;
+      long next;
+      do {
+        current = requested.get();
+        next = current + n;
+        if (next < 0) {
+          // cap at unbounded demand.
+          next = Long.MAX_VALUE;
+        }
+      } while (!requested.compareAndSet(current, next));
+    }
+    schedule();
+  }
+
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    schedule();
+  }
+
+
+  private void schedule() {
+    if (wip.getAndIncrement() == 0) {
+      BoundedExecutor.WORKERS.execute(new Runnable() {
+          @Override
+          public void run() {
+            drain();
+          }
+        });
+    }
+  }
+
+
+  private void drain() {
+    int missed = 1;
+    do {
+      if (!done) {
+        try {
+          emit();
+        } catch (Throwable e) {
+          if (!done) {
+            finish();
+            subscriber.onError(e);
+          }
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+
+  private void emit() throws Exception {
+    while (!cancelled) {
+      if (invalidRequest != null) {
+        throw invalidRequest;
+      }
+
+      long demand = requested.get();
+      if (demand == 0) {
+        return;
+      }
+
+      T item = next();
+      if (item == null) {
+        finish();
+        subscriber.onComplete();
+        return;
+      }
+
+      subscriber.onNext(item);
+      if (demand != Long.MAX_VALUE) {
+        requested.decrementAndGet();
+      }
+    }
+
+    finish();
+  }
+
+
+  private void finish() {
+    done = true;
+    release();
+  }
+}
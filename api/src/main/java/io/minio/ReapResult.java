@@ -0,0 +1,103 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Progress and result of removing stale incomplete uploads. Counters are updated while uploads are being removed.
+ */
+public class ReapResult {
+  private final AtomicLong listedUploads = new AtomicLong();
+  private final AtomicLong staleUploads = new AtomicLong();
+  private final AtomicLong abortedUploads = new AtomicLong();
+  private final AtomicLong abortedBytes = new AtomicLong();
+  private final Map<String, Exception> errors = new ConcurrentHashMap<>();
+
+
+  /**
+   * Returns number of incomplete uploads listed.
+   */
+  public long listedUploads() {
+    return listedUploads.get();
+  }
+
+
+  /**
+   * Returns number of incomplete uploads initiated before the cutoff.
+   */
+  public long staleUploads() {
+    return staleUploads.get();
+  }
+
+
+  /**
+   * Returns number of uploads aborted.
+   */
+  public long abortedUploads() {
+    return abortedUploads.get();
+  }
+
+
+  /**
+   * Returns total size of uploaded parts of aborted uploads.
+   */
+  public long abortedBytes() {
+    return abortedBytes.get();
+  }
+
+
+  /**
+   * Returns number of stale uploads failed to abort.
+   */
+  public long failedUploads() {
+    return errors.size();
+  }
+
+
+  /**
+   * Returns errors of failed uploads keyed by upload ID.
+   */
+  public Map<String, Exception> errors() {
+    return Collections.unmodifiableMap(errors);
+  }
+
+
+  void uploadListed() {
+    listedUploads.incrementAndGet();
+  }
+
+
+  void uploadStale() {
+    staleUploads.incrementAndGet();
+  }
+
+
+  void uploadAborted(long size) {
+    abortedUploads.incrementAndGet();
+    abortedBytes.addAndGet(size);
+  }
+
+
+  void uploadFailed(String uploadId, Exception e) {
+    errors.put(uploadId, e);
+  }
+}
@@ -16,12 +16,35 @@
 
 package io.minio;
 
-import com.google.common.escape.Escaper;
-import com.google.common.net.UrlEscapers;
-
 
+/**
+ * S3 URI encoder where only unreserved characters of RFC 3986 are left as is and others are percent-encoded as UTF-8.
+ * <p>
+ * Each string is encoded in a single pass using a table of ASCII characters, and a string having no character to
+ * encode is returned as is.
+ * </p>
+ */
 class S3Escaper {
-  private static final Escaper ESCAPER = UrlEscapers.urlPathSegmentEscaper();
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+  // true for ASCII characters left as is, which are ALPHA, DIGIT, '-', '.', '_' and '~'.
+  private static final boolean[] UNRESERVED = new boolean[128];
+
+  static {
+    for (char c = 'A'; c <= 'Z'; c++) {
+      UNRESERVED[c] = true;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      UNRESERVED[c] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      UNRESERVED[c] = true;
+    }
+    UNRESERVED['-'] = true;
+    UNRESERVED['.'] = true;
+    UNRESERVED['_'] = true;
+    UNRESERVED['~'] = true;
+  }
+
 
   /**
    * Returns S3 encoded string.
@@ -31,46 +54,102 @@ class S3Escaper {
       return "";
     }
 
-    return ESCAPER.escape(str)
-      .replaceAll("\\!", "%21")
-      .replaceAll("\\$", "%24")
-      .replaceAll("\\&", "%26")
-      .replaceAll("\\'", "%27")
-      .replaceAll("\\(", "%28")
-      .replaceAll("\\)", "%29")
-      .replaceAll("\\*", "%2A")
-      .replaceAll("\\+", "%2B")
-      .replaceAll("\\,", "%2C")
-      .replaceAll("\\/", "%2F")
-      .replaceAll("\\:", "%3A")
-      .replaceAll("\\;", "%3B")
-      .replaceAll("\\=", "%3D")
-      .replaceAll("\\@", "%40")
-      .replaceAll("\\[", "%5B")
-      .replaceAll("\\]", "%5D");
+    int i = 0;
+    while (i < str.length() && isUnreserved(str.charAt(i))) {
+      i++;
+    }
+    if (i == str.length()) {
+      return str;
+    }
+
+    StringBuilder builder = new StringBuilder(str.length() + 16);
+    builder.append(str, 0, i);
+    encode(str, i, str.length(), builder);
+    return builder.toString();
   }
 
+
   /**
    * Returns S3 encoded string of given path where multiple '/' are trimmed.
    */
   public static String encodePath(String path) {
-    StringBuffer encodedPathBuf = new StringBuffer();
-    for (String pathSegment : path.split("/")) {
-      if (!pathSegment.isEmpty()) {
-        if (encodedPathBuf.length() > 0) {
-          encodedPathBuf.append("/");
+    StringBuilder builder = new StringBuilder(path.length() + 16);
+    if (path.startsWith("/")) {
+      builder.append('/');
+    }
+
+    boolean first = true;
+    int start = 0;
+    while (start <= path.length()) {
+      int end = path.indexOf('/', start);
+      if (end < 0) {
+        end = path.length();
+      }
+
+      if (end > start) {
+        if (!first) {
+          builder.append('/');
         }
-        encodedPathBuf.append(S3Escaper.encode(pathSegment));
+        encode(path, start, end, builder);
+        first = false;
       }
+      start = end + 1;
     }
 
-    if (path.startsWith("/")) {
-      encodedPathBuf.insert(0, "/");
-    }
     if (path.endsWith("/")) {
-      encodedPathBuf.append("/");
+      builder.append('/');
     }
 
-    return encodedPathBuf.toString();
+    return builder.toString();
+  }
+
+
+  private static boolean isUnreserved(char c) {
+    return c < 128 && UNRESERVED[c];
+  }
+
+
+  /**
+   * Appends encoded characters of given range of given string to given builder.
+   */
+  private static void encode(String str, int start, int end, StringBuilder builder) {
+    int i = start;
+    while (i < end) {
+      char c = str.charAt(i);
+      if (c < 128) {
+        if (UNRESERVED[c]) {
+          builder.append(c);
+        } else {
+          appendByte(builder, c);
+        }
+        i++;
+        continue;
+      }
+
+      int codePoint = Character.codePointAt(str, i);
+      if (Character.isSurrogate(c) && Character.charCount(codePoint) == 1) {
+        throw new IllegalArgumentException("unpaired surrogate at index " + i + " of '" + str + "'");
+      }
+      i += Character.charCount(codePoint);
+
+      if (codePoint < 0x800) {
+        appendByte(builder, 0xC0 | (codePoint >> 6));
+        appendByte(builder, 0x80 | (codePoint & 0x3F));
+      } else if (codePoint < 0x10000) {
+        appendByte(builder, 0xE0 | (codePoint >> 12));
+        appendByte(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+        appendByte(builder, 0x80 | (codePoint & 0x3F));
+      } else {
+        appendByte(builder, 0xF0 | (codePoint >> 18));
+        appendByte(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+        appendByte(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+        appendByte(builder, 0x80 | (codePoint & 0x3F));
+      }
+    }
+  }
+
+
+  private static void appendByte(StringBuilder builder, int b) {
+    builder.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
   }
 }
@@ -0,0 +1,240 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.messages.Stats;
+
+
+/**
+ * Input stream of records of select object content, decoded from event stream of the response as it is read.
+ * <p>
+ * Each message of the event stream is verified by its prelude and message CRC32 checksums. Payload of Records event
+ * is read directly into the caller's buffer without buffering whole message. Stats and Progress events are kept to be
+ * returned by {@link #stats()} and {@link #progress()}. Error event fails reading with {@link IOException}. The
+ * stream ends at End event.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code try (SelectResponseStream stream = minioClient.selectObjectContent(...)) {
+ *   ...read records from stream...
+ *   System.out.println("scanned " + stream.stats().bytesScanned() + " bytes");
+ * } }</pre>
+ */
+public class SelectResponseStream extends InputStream {
+  // total length, headers length and prelude CRC.
+  private static final int PRELUDE_LENGTH = 12;
+  // prelude and message CRC.
+  private static final int MESSAGE_OVERHEAD = PRELUDE_LENGTH + 4;
+  private static final int STRING_HEADER_TYPE = 7;
+
+  private final DataInputStream stream;
+  private final CRC32 crc = new CRC32();
+  // unread bytes of payload of current Records event.
+  private long payloadRemaining = 0;
+  private boolean ended = false;
+  private Stats stats;
+  private volatile Stats progress;
+
+
+  SelectResponseStream(InputStream stream) {
+    this.stream = new DataInputStream(stream);
+  }
+
+
+  /**
+   * Returns statistics of the query sent once all records are sent, or null if not received yet.
+   */
+  public Stats stats() {
+    return stats;
+  }
+
+
+  /**
+   * Returns last progress of the query if progress is requested, or null if not received yet.
+   */
+  public Stats progress() {
+    return progress;
+  }
+
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    int n = read(b, 0, 1);
+    return (n < 0) ? -1 : (b[0] & 0xFF);
+  }
+
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+
+    while (payloadRemaining == 0) {
+      if (ended || !nextRecords()) {
+        return -1;
+      }
+    }
+
+    int n = stream.read(b, off, (int) Math.min(len, payloadRemaining));
+    if (n < 0) {
+      throw new EOFException("unexpected end of event stream");
+    }
+
+    crc.update(b, off, n);
+    payloadRemaining -= n;
+    if (payloadRemaining == 0) {
+      verifyMessage();
+    }
+    return n;
+  }
+
+
+  @Override
+  public void close() throws IOException {
+    stream.close();
+  }
+
+
+  /**
+   * Reads messages until a Records event having payload and returns true, or returns false at End event.
+   */
+  private boolean nextRecords() throws IOException {
+    while (true) {
+      byte[] prelude = new byte[PRELUDE_LENGTH];
+      try {
+        stream.readFully(prelude);
+      } catch (EOFException e) {
+        throw new EOFException("event stream ended without End event");
+      }
+
+      crc.reset();
+      crc.update(prelude, 0, 8);
+      if ((int) crc.getValue() != readInt(prelude, 8)) {
+        throw new IOException("prelude CRC mismatch in event stream");
+      }
+      crc.update(prelude, 8, 4);
+
+      int totalLength = readInt(prelude, 0);
+      int headersLength = readInt(prelude, 4);
+      long payloadLength = (long) totalLength - headersLength - MESSAGE_OVERHEAD;
+      if (headersLength < 0 || payloadLength < 0) {
+        throw new IOException("invalid message length in event stream");
+      }
+
+      byte[] headerBytes = new byte[headersLength];
+      stream.readFully(headerBytes);
+      crc.update(headerBytes, 0, headerBytes.length);
+      Map<String, String> headers = parseHeaders(headerBytes);
+
+      String messageType = headers.get(":message-type");
+      if ("error".equals(messageType)) {
+        throw new IOException("select object content failed; error code: " + headers.get(":error-code")
+                              + ", message: " + headers.get(":error-message"));
+      }
+
+      String eventType = headers.get(":event-type");
+      if ("Records".equals(eventType)) {
+        payloadRemaining = payloadLength;
+        if (payloadRemaining > 0) {
+          return true;
+        }
+        verifyMessage();
+        continue;
+      }
+
+      byte[] payload = new byte[(int) payloadLength];
+      stream.readFully(payload);
+      crc.update(payload, 0, payload.length);
+      verifyMessage();
+
+      if ("Stats".equals(eventType)) {
+        stats = parseStats(payload);
+      } else if ("Progress".equals(eventType)) {
+        progress = parseStats(payload);
+      } else if ("End".equals(eventType)) {
+        ended = true;
+        return false;
+      }
+      // Cont event is a keep-alive and is ignored.
+    }
+  }
+
+
+  /**
+   * Reads message CRC and verifies it with CRC of the message read.
+   */
+  private void verifyMessage() throws IOException {
+    if ((int) crc.getValue() != stream.readInt()) {
+      throw new IOException("message CRC mismatch in event stream");
+    }
+  }
+
+
+  private static Map<String, String> parseHeaders(byte[] bytes) throws IOException {
+    Map<String, String> headers = new HashMap<>();
+    int pos = 0;
+    try {
+      while (pos < bytes.length) {
+        int nameLength = bytes[pos++] & 0xFF;
+        String name = new String(bytes, pos, nameLength, StandardCharsets.UTF_8);
+        pos += nameLength;
+        int type = bytes[pos++];
+        if (type != STRING_HEADER_TYPE) {
+          throw new IOException("unsupported header value type " + type + " in event stream");
+        }
+        int valueLength = ((bytes[pos] & 0xFF) << 8) | (bytes[pos + 1] & 0xFF);
+        pos += 2;
+        headers.put(name, new String(bytes, pos, valueLength, StandardCharsets.UTF_8));
+        pos += valueLength;
+      }
+    } catch (IndexOutOfBoundsException e) {
+      throw new IOException("invalid headers in event stream", e);
+    }
+    return headers;
+  }
+
+
+  private static Stats parseStats(byte[] payload) throws IOException {
+    try {
+      Stats stats = new Stats();
+      stats.parseXml(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+      return stats;
+    } catch (XmlPullParserException e) {
+      throw new IOException(e);
+    }
+  }
+
+
+  private static int readInt(byte[] b, int off) {
+    return ((b[off] & 0xFF) << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+  }
+}
@@ -210,16 +210,24 @@ class Signer {
 
 
   private void setSigningKey() throws NoSuchAlgorithmException, InvalidKeyException {
-    String aws4SecretKey = "AWS4" + this.secretKey;
+    this.signingKey = signingKey(this.secretKey, this.date.toString(DateFormat.SIGNER_DATE_FORMAT), this.region);
+  }
+
+
+  /**
+   * Returns signing key derived from given secret key, date in yyyyMMdd format and region.
+   */
+  public static byte[] signingKey(String secretKey, String date, String region)
+    throws NoSuchAlgorithmException, InvalidKeyException {
+    String aws4SecretKey = "AWS4" + secretKey;
 
-    byte[] dateKey = sumHmac(aws4SecretKey.getBytes(StandardCharsets.UTF_8),
-                             this.date.toString(DateFormat.SIGNER_DATE_FORMAT).getBytes(StandardCharsets.UTF_8));
+    byte[] dateKey = sumHmac(aws4SecretKey.getBytes(StandardCharsets.UTF_8), date.getBytes(StandardCharsets.UTF_8));
 
-    byte[] dateRegionKey = sumHmac(dateKey, this.region.getBytes(StandardCharsets.UTF_8));
+    byte[] dateRegionKey = sumHmac(dateKey, region.getBytes(StandardCharsets.UTF_8));
 
     byte[] dateRegionServiceKey = sumHmac(dateRegionKey, "s3".getBytes(StandardCharsets.UTF_8));
 
-    this.signingKey = sumHmac(dateRegionServiceKey, "aws4_request".getBytes(StandardCharsets.UTF_8));
+    return sumHmac(dateRegionServiceKey, "aws4_request".getBytes(StandardCharsets.UTF_8));
   }
 
 
@@ -0,0 +1,71 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Trace sink writing records as text used by {@link MinioClient#traceOn(OutputStream)}.
+ */
+class TextTraceSink implements TraceSink {
+  private static final String START_HTTP = "---------START-HTTP---------";
+  private static final String END_HTTP = "----------END-HTTP----------";
+
+  private final PrintWriter writer;
+
+
+  TextTraceSink(OutputStream stream) {
+    this.writer = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+  }
+
+
+  @Override
+  public void write(TraceRecord record) {
+    writer.println(START_HTTP);
+    writer.println(record.method() + " " + record.url() + " HTTP/1.1");
+    print(record.requestHeaders());
+    writer.println();
+
+    if (record.protocol() != null) {
+      writer.println(record.protocol().toUpperCase(Locale.US) + " " + record.statusCode());
+      print(record.responseHeaders());
+      writer.println();
+    }
+
+    if (record.error() != null) {
+      writer.println(record.error());
+    }
+    writer.println(END_HTTP);
+    writer.flush();
+  }
+
+
+  private void print(Map<String, List<String>> headers) {
+    for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      for (String value : entry.getValue()) {
+        writer.println(entry.getKey() + ": " + value);
+      }
+    }
+  }
+}
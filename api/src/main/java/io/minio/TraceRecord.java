@@ -0,0 +1,202 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import okhttp3.Headers;
+
+
+/**
+ * Trace record of a HTTP call having timing, sizes, request ID and headers with credentials redacted.
+ * <p>
+ * Headers are redacted upon first access, which happens on the writer thread of {@link Tracer}.
+ * </p>
+ */
+public class TraceRecord {
+  static final String REDACTED = "*REDACTED*";
+
+  private final long startTime;
+  private final long durationNanos;
+  private final String method;
+  private final String url;
+  private final String protocol;
+  private final int statusCode;
+  private final String requestId;
+  private final long requestBytes;
+  private final long responseBytes;
+  private final Headers rawRequestHeaders;
+  private final Headers rawResponseHeaders;
+  private final String error;
+  private Map<String, List<String>> requestHeaders;
+  private Map<String, List<String>> responseHeaders;
+
+
+  TraceRecord(long startTime, long durationNanos, String method, String url, String protocol, int statusCode,
+              String requestId, long requestBytes, long responseBytes, Headers requestHeaders, Headers responseHeaders,
+              String error) {
+    this.startTime = startTime;
+    this.durationNanos = durationNanos;
+    this.method = method;
+    this.url = url;
+    this.protocol = protocol;
+    this.statusCode = statusCode;
+    this.requestId = requestId;
+    this.requestBytes = requestBytes;
+    this.responseBytes = responseBytes;
+    this.rawRequestHeaders = requestHeaders;
+    this.rawResponseHeaders = responseHeaders;
+    this.error = error;
+  }
+
+
+  /**
+   * Returns time the request was sent.
+   */
+  public Date startTime() {
+    return new Date(startTime);
+  }
+
+
+  /**
+   * Returns nanoseconds taken until response headers were received or the call failed.
+   */
+  public long durationNanos() {
+    return durationNanos;
+  }
+
+
+  /**
+   * Returns HTTP method.
+   */
+  public String method() {
+    return method;
+  }
+
+
+  /**
+   * Returns encoded path and query of the request.
+   */
+  public String url() {
+    return url;
+  }
+
+
+  /**
+   * Returns protocol of the response, or null if no response is received.
+   */
+  public String protocol() {
+    return protocol;
+  }
+
+
+  /**
+   * Returns HTTP status code, or 0 if no response is received.
+   */
+  public int statusCode() {
+    return statusCode;
+  }
+
+
+  /**
+   * Returns value of x-amz-request-id response header or null.
+   */
+  public String requestId() {
+    return requestId;
+  }
+
+
+  /**
+   * Returns length of request body.
+   */
+  public long requestBytes() {
+    return requestBytes;
+  }
+
+
+  /**
+   * Returns content length of response body, or -1 if unknown.
+   */
+  public long responseBytes() {
+    return responseBytes;
+  }
+
+
+  /**
+   * Returns request headers with credentials redacted.
+   */
+  public Map<String, List<String>> requestHeaders() {
+    if (requestHeaders == null) {
+      requestHeaders = redact(rawRequestHeaders);
+    }
+    return requestHeaders;
+  }
+
+
+  /**
+   * Returns response headers, or empty map if no response is received.
+   */
+  public Map<String, List<String>> responseHeaders() {
+    if (responseHeaders == null) {
+      responseHeaders = redact(rawResponseHeaders);
+    }
+    return responseHeaders;
+  }
+
+
+  /**
+   * Returns error response body or failure of the call, or null if the call is successful.
+   */
+  public String error() {
+    return error;
+  }
+
+
+  private static Map<String, List<String>> redact(Headers headers) {
+    if (headers == null) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, List<String>> map = new LinkedHashMap<>();
+    for (String name : headers.names()) {
+      List<String> values = headers.values(name);
+      if (isSensitive(name)) {
+        values = Collections.nCopies(values.size(), REDACTED);
+      }
+      map.put(name, Collections.unmodifiableList(values));
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+
+  private static boolean isSensitive(String name) {
+    switch (name.toLowerCase(Locale.US)) {
+      case "authorization":
+      case "x-amz-security-token":
+      case "x-amz-server-side-encryption-customer-key":
+      case "x-amz-copy-source-server-side-encryption-customer-key":
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+
+/**
+ * Destination of trace records of HTTP calls.
+ * <p>
+ * Records are written one at a time on the writer thread of {@link Tracer}, never on the thread executing the call, so
+ * a slow sink only causes records to be dropped once the buffer of the tracer is full.
+ * </p>
+ */
+public interface TraceSink {
+  /**
+   * Writes given trace record.
+   */
+  void write(TraceRecord record);
+}
@@ -0,0 +1,171 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Tracer of HTTP calls writing trace records to a sink on its own writer thread.
+ * <p>
+ * A call is traced if it is sampled by given sample rate, or if it takes at least given slow threshold. Sampling is
+ * decided before the call is sent, and a record is made only for a traced call. Records are queued in a bounded buffer
+ * and written by the writer thread, so the thread executing the call never waits for the sink. Records are dropped
+ * when the buffer is full.
+ * </p>
+ *
+ * </p><b>Example:</b><br>
+ * <pre>{@code // trace 1% of calls and every call slower than 2s.
+ * minioClient.setTracer(new Tracer(sink, 0.01, 2000, 1024)); }</pre>
+ */
+public class Tracer implements Closeable {
+  private final TraceSink sink;
+  private final double sampleRate;
+  private final long slowThresholdNanos;
+  private final BlockingQueue<TraceRecord> buffer;
+  private final Thread writer;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private volatile boolean closed = false;
+
+
+  /**
+   * Creates tracer writing to given sink.
+   *
+   * @param sink                 Sink to write trace records to.
+   * @param sampleRate           Fraction of calls traced regardless of their duration, in range of 0 to 1.
+   * @param slowThresholdMillis  Calls taking at least this many milliseconds are always traced. 0 disables it.
+   * @param bufferSize           Maximum number of records waiting to be written.
+   */
+  public Tracer(TraceSink sink, double sampleRate, long slowThresholdMillis, int bufferSize) {
+    if (sink == null) {
+      throw new IllegalArgumentException("sink cannot be null");
+    }
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("sample rate must be in range of 0 to 1");
+    }
+    if (slowThresholdMillis < 0) {
+      throw new IllegalArgumentException("slow threshold must be non-negative");
+    }
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("buffer size must be at least 1");
+    }
+
+    this.sink = sink;
+    this.sampleRate = sampleRate;
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.writer = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          drain();
+        }
+      }, "minio-tracer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+
+  /**
+   * Returns number of records dropped because the buffer was full.
+   */
+  public long droppedCount() {
+    return droppedCount.get();
+  }
+
+
+  /**
+   * Returns number of records failed to be written by the sink.
+   */
+  public long failedCount() {
+    return failedCount.get();
+  }
+
+
+  /**
+   * Stops tracing after records in the buffer are written.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+
+  /**
+   * Returns whether a call about to be sent is sampled.
+   */
+  boolean sample() {
+    if (closed || sampleRate == 0) {
+      return false;
+    }
+    return sampleRate == 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+
+  /**
+   * Returns whether a call of given sampling decision and duration is traced.
+   */
+  boolean traced(boolean sampled, long durationNanos) {
+    return sampled || (slowThresholdNanos > 0 && durationNanos >= slowThresholdNanos && !closed);
+  }
+
+
+  /**
+   * Queues given record to be written without waiting.
+   */
+  void submit(TraceRecord record) {
+    if (closed || !buffer.offer(record)) {
+      droppedCount.incrementAndGet();
+    }
+  }
+
+
+  private void drain() {
+    while (true) {
+      TraceRecord record;
+      try {
+        record = buffer.poll(100, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        record = null;
+      }
+
+      if (record == null) {
+        if (closed && buffer.isEmpty()) {
+          return;
+        }
+        continue;
+      }
+
+      try {
+        sink.write(record);
+      } catch (RuntimeException e) {
+        // tracing must not affect calls, so failure of the sink is only counted.
+        failedCount.incrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+import io.minio.messages.ListMultipartUploadsResult;
+import io.minio.messages.Part;
+import io.minio.messages.Upload;
+
+
+/**
+ * Aborts incomplete uploads of a bucket initiated before given time.
+ * <p>
+ * Uploads are listed page by page where next page is fetched in background while current page is processed. Part
+ * sizes of each stale upload are listed and the upload is aborted on a worker thread, by at most given number of
+ * uploads at a time. An upload failing to be aborted is recorded in {@link ReapResult} and does not stop the others.
+ * </p>
+ */
+class UploadReaper {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String prefix;
+  private final long cutoff;
+  private final BoundedExecutor executor;
+  private final ReapResult result = new ReapResult();
+
+
+  UploadReaper(MinioClient client, String bucketName, String prefix, long cutoff, int parallelism) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.prefix = prefix;
+    this.cutoff = cutoff;
+    this.executor = new BoundedExecutor(parallelism);
+  }
+
+
+  /**
+   * Runs the reaper and returns its result once all stale uploads are processed.
+   */
+  ReapResult run()
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    Future<ListMultipartUploadsResult> page = fetchPage(null, null);
+    try {
+      while (page != null) {
+        ListMultipartUploadsResult listing = BoundedExecutor.get(page);
+        page = null;
+        if (listing.isTruncated()) {
+          page = fetchPage(listing.nextKeyMarker(), listing.nextUploadIdMarker());
+        }
+
+        for (Upload upload : listing.uploads()) {
+          result.uploadListed();
+          if (upload.initiated().getTime() < cutoff) {
+            result.uploadStale();
+            submit(upload);
+          }
+        }
+      }
+    } finally {
+      if (page != null) {
+        page.cancel(true);
+      }
+      executor.awaitTasks();
+    }
+
+    return result;
+  }
+
+
+  private Future<ListMultipartUploadsResult> fetchPage(final String keyMarker, final String uploadIdMarker) {
+    FutureTask<ListMultipartUploadsResult> page = new FutureTask<>(new Callable<ListMultipartUploadsResult>() {
+        @Override
+        public ListMultipartUploadsResult call() throws Exception {
+          return client.listIncompleteUploads(bucketName, keyMarker, uploadIdMarker, prefix, null, 1000);
+        }
+      });
+    BoundedExecutor.WORKERS.execute(page);
+    return page;
+  }
+
+
+  private void submit(final Upload upload) throws IOException {
+    executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() {
+          try {
+            long size = 0;
+            for (Result<Part> r : client.listObjectParts(bucketName, upload.objectName(), upload.uploadId())) {
+              size += r.get().partSize();
+            }
+
+            client.abortMultipartUpload(bucketName, upload.objectName(), upload.uploadId());
+            result.uploadAborted(size);
+          } catch (Exception e) {
+            result.uploadFailed(upload.uploadId(), e);
+          }
+          return null;
+        }
+      });
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidArgumentException;
+import io.minio.errors.InvalidBucketNameException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.NoResponseException;
+
+
+/**
+ * Downloads parts of an object to a file by parallel ranged requests, verifying each part as it is written.
+ * <p>
+ * Each part is downloaded by its own ranged request and written at its offset of a temporary file while MD5 of the
+ * part is computed, so no part is read twice. The file is replaced by the temporary file only when MD5s of parts match
+ * the ETag. A part failing to download stops the download.
+ * </p>
+ */
+class VerifiedDownload {
+  private final MinioClient client;
+  private final String bucketName;
+  private final String objectName;
+  private final Path filePath;
+  private final int parallelism;
+
+
+  VerifiedDownload(MinioClient client, String bucketName, String objectName, Path filePath, int parallelism) {
+    this.client = client;
+    this.bucketName = bucketName;
+    this.objectName = objectName;
+    this.filePath = filePath;
+    this.parallelism = parallelism;
+  }
+
+
+  /**
+   * Runs the download and returns number of bytes downloaded.
+   */
+  long run()
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    PartLayout layout = PartLayout.of(client, bucketName, objectName, parallelism);
+    Path tempFilePath = Paths.get(filePath.toString() + "." + layout.etag() + ".part.minio");
+
+    boolean completed = false;
+    try {
+      try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING)) {
+        byte[][] partDigests = download(layout, channel);
+        layout.verify(partDigests, MessageDigest.getInstance("MD5"));
+        channel.force(false);
+      }
+      Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+      completed = true;
+    } finally {
+      if (!completed) {
+        Files.deleteIfExists(tempFilePath);
+      }
+    }
+
+    return layout.length();
+  }
+
+
+  private byte[][] download(final PartLayout layout, final FileChannel channel)
+    throws InvalidBucketNameException, NoSuchAlgorithmException, InsufficientDataException, IOException,
+           InvalidKeyException, NoResponseException, XmlPullParserException, ErrorResponseException,
+           InternalException, InvalidArgumentException, InvalidResponseException {
+    BoundedExecutor executor = new BoundedExecutor(parallelism);
+    List<Future<byte[]>> digests = new ArrayList<>(layout.partCount());
+    try {
+      for (int i = 0; i < layout.partCount() && !executor.failed(); i++) {
+        final int index = i;
+        digests.add(executor.submit(new Callable<byte[]>() {
+            @Override
+            public byte[] call() throws Exception {
+              return downloadPart(layout, index, channel);
+            }
+          }));
+      }
+
+      byte[][] partDigests = new byte[layout.partCount()][];
+      for (int i = 0; i < digests.size(); i++) {
+        partDigests[i] = BoundedExecutor.get(digests.get(i));
+      }
+      if (digests.size() != partDigests.length) {
+        throw new InternalException("parts of '" + objectName + "' are not downloaded");
+      }
+      return partDigests;
+    } finally {
+      BoundedExecutor.cancel(digests);
+    }
+  }
+
+
+  /**
+   * Downloads part of given index to its offset of given channel and returns MD5 of the part.
+   */
+  private byte[] downloadPart(PartLayout layout, int index, FileChannel channel) throws Exception {
+    MessageDigest md5Digest = MessageDigest.getInstance("MD5");
+    long size = layout.size(index);
+    if (size == 0) {
+      return md5Digest.digest();
+    }
+
+    long position = layout.offset(index);
+    long written = 0;
+    byte[] buf = new byte[(int) Math.min(size, 64 * 1024)];
+    // fail if the object is replaced while parts are downloaded.
+    try (InputStream stream = client.getObjectRange(bucketName, objectName, position, size, layout.etag())) {
+      int n;
+      while (written < size && (n = stream.read(buf, 0, (int) Math.min(buf.length, size - written))) >= 0) {
+        md5Digest.update(buf, 0, n);
+        ByteBuffer buffer = ByteBuffer.wrap(buf, 0, n);
+        while (buffer.hasRemaining()) {
+          position += channel.write(buffer, position);
+        }
+        written += n;
+      }
+    }
+
+    if (written != size) {
+      throw new IOException("premature end of part " + (index + 1) + " of '" + objectName + "'; read " + written
+                            + " of " + size + " bytes");
+    }
+    return md5Digest.digest();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+
+/**
+ * Input stream verifying data read from given stream of an object against ETag of the object.
+ * <p>
+ * MD5 of each part is computed as data is read and a read never crosses a part boundary, so no data is buffered or
+ * read twice. Reading beyond the object length fails immediately, and MD5s of parts are verified against the ETag
+ * when the last byte is read, before end of stream is returned.
+ * </p>
+ */
+class VerifiedInputStream extends FilterInputStream {
+  private final PartLayout layout;
+  private final MessageDigest md5Digest;
+  private final byte[][] partDigests;
+  private int part = 0;
+  private long position = 0;
+  private boolean verified = false;
+  private boolean ended = false;
+
+
+  VerifiedInputStream(InputStream stream, PartLayout layout) throws NoSuchAlgorithmException {
+    super(stream);
+    this.layout = layout;
+    this.md5Digest = MessageDigest.getInstance("MD5");
+    this.partDigests = new byte[layout.partCount()][];
+  }
+
+
+  @Override
+  public int read() throws IOException {
+    byte[] buf = new byte[1];
+    int n = read(buf, 0, 1);
+    return (n < 0) ? -1 : (buf[0] & 0xFF);
+  }
+
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+
+    if (position == layout.length()) {
+      if (!ended) {
+        ended = true;
+        if (super.read() >= 0) {
+          throw new IOException("object has more data than its size " + layout.length());
+        }
+      }
+      verify();
+      return -1;
+    }
+
+    int n = super.read(b, off, (int) Math.min(len, layout.offset(part + 1) - position));
+    if (n < 0) {
+      throw new IOException("premature end of stream; read " + position + " of " + layout.length() + " bytes");
+    }
+
+    md5Digest.update(b, off, n);
+    position += n;
+    finishParts();
+    if (position == layout.length()) {
+      verify();
+    }
+    return n;
+  }
+
+
+  @Override
+  public long skip(long n) throws IOException {
+    // skipped data must be read to compute MD5.
+    if (n <= 0) {
+      return 0;
+    }
+
+    byte[] buf = new byte[(int) Math.min(n, 8192)];
+    long skipped = 0;
+    while (skipped < n) {
+      int read = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+      if (read < 0) {
+        break;
+      }
+      skipped += read;
+    }
+    return skipped;
+  }
+
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+
+  /**
+   * Finishes MD5 of parts ended at current position, including empty parts.
+   */
+  private void finishParts() {
+    while (part < partDigests.length && position == layout.offset(part + 1)) {
+      partDigests[part] = md5Digest.digest();
+      part++;
+    }
+  }
+
+
+  private void verify() throws IOException {
+    if (verified) {
+      return;
+    }
+
+    finishParts();
+    verified = true;
+    layout.verify(partDigests, md5Digest);
+  }
+}
@@ -16,11 +16,15 @@
 
 package io.minio.http;
 
-import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +36,15 @@ import okhttp3.Headers;
  */
 public class HeaderParser {
   private static final Logger LOGGER = Logger.getLogger(HeaderParser.class.getName());
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+  // bindings of a class are looked up by reflection only once.
+  private static final ClassValue<Binding[]> BINDINGS = new ClassValue<Binding[]>() {
+    @Override
+    protected Binding[] computeValue(Class<?> cls) {
+      return bindings(cls);
+    }
+  };
 
   /* private constructor */
   private HeaderParser() {}
@@ -40,26 +53,46 @@ public class HeaderParser {
    * Sets destination object from Headers object.
    */
   public static void set(Headers headers, Object destination) {
+    for (Binding binding : BINDINGS.get(destination.getClass())) {
+      String valueString = headers.get(binding.header);
+      if (valueString == null) {
+        continue;
+      }
+
+      try {
+        binding.setter.invokeExact(destination, valueString);
+      } catch (Throwable e) {
+        if (e instanceof Error) {
+          throw (Error) e;
+        }
+        LOGGER.log(Level.SEVERE, "exception occured: ", e);
+        LOGGER.log(Level.INFO, "setter: " + binding.setterName);
+        LOGGER.log(Level.INFO, "annotation: " + binding.header);
+        LOGGER.log(Level.INFO, "value: " + valueString);
+      }
+    }
+  }
 
-    Field[] publicFields;
-    Field[] privateFields;
-    Field[] fields;
 
-    Class<?> cls = destination.getClass();
-    publicFields = cls.getFields();
-    privateFields = cls.getDeclaredFields();
-    fields = new Field[publicFields.length + privateFields.length];
-    System.arraycopy(publicFields, 0, fields, 0, publicFields.length);
-    System.arraycopy(privateFields, 0, fields, publicFields.length, privateFields.length);
+  /**
+   * Returns header bindings of {@link Header} annotated fields of given class.
+   */
+  private static Binding[] bindings(Class<?> cls) {
+    Set<Field> fields = new LinkedHashSet<>();
+    for (Field field : cls.getFields()) {
+      fields.add(field);
+    }
+    for (Field field : cls.getDeclaredFields()) {
+      fields.add(field);
+    }
 
+    List<Binding> bindings = new ArrayList<>();
     for (Field field : fields) {
-      Annotation annotation = field.getAnnotation(Header.class);
-      if (annotation == null) {
+      Header httpHeader = field.getAnnotation(Header.class);
+      if (httpHeader == null) {
         continue;
       }
 
-      Header httpHeader = (Header) annotation;
-      String value = httpHeader.value();
       String setter = httpHeader.setter();
       if (setter.isEmpty()) {
         // assume setter name as 'setFieldName'
@@ -68,18 +101,31 @@ public class HeaderParser {
       }
 
       try {
-        Method setterMethod = cls.getMethod(setter, new Class[]{String.class});
-        String valueString = headers.get(value);
-        if (valueString != null) {
-          setterMethod.invoke(destination, valueString);
-        }
-      } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException
-               | IllegalArgumentException e) {
+        MethodHandle handle = MethodHandles.publicLookup().unreflect(cls.getMethod(setter, String.class));
+        bindings.add(new Binding(httpHeader.value(), setter, handle.asType(SETTER_TYPE)));
+      } catch (NoSuchMethodException | IllegalAccessException e) {
         LOGGER.log(Level.SEVERE, "exception occured: ", e);
         LOGGER.log(Level.INFO, "setter: " + setter);
-        LOGGER.log(Level.INFO, "annotation: " + value);
-        LOGGER.log(Level.INFO, "value: " + headers.get(value));
+        LOGGER.log(Level.INFO, "annotation: " + httpHeader.value());
       }
     }
+
+    return bindings.toArray(new Binding[0]);
+  }
+
+
+  /**
+   * Header name and setter method of a field.
+   */
+  private static class Binding {
+    private final String header;
+    private final String setterName;
+    private final MethodHandle setter;
+
+    Binding(String header, String setterName, MethodHandle setter) {
+      this.header = header;
+      this.setterName = setterName;
+      this.setter = setter;
+    }
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+
+
+/**
+ * Helper class to construct CSV format of select object content request XML.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class CsvSerialization extends XmlEntity {
+  @Key("FileHeaderInfo")
+  private String fileHeaderInfo;
+  @Key("RecordDelimiter")
+  private String recordDelimiter;
+  @Key("FieldDelimiter")
+  private String fieldDelimiter;
+  @Key("QuoteCharacter")
+  private String quoteCharacter;
+
+
+  public CsvSerialization() throws XmlPullParserException {
+    super();
+    this.name = "CSV";
+  }
+
+
+  /**
+   * Constructs a new CsvSerialization object with given file header info and delimiters. Null values are not sent.
+   */
+  public CsvSerialization(FileHeaderInfo fileHeaderInfo, String recordDelimiter, String fieldDelimiter,
+                          String quoteCharacter) throws XmlPullParserException {
+    this();
+
+    if (fileHeaderInfo != null) {
+      this.fileHeaderInfo = fileHeaderInfo.toString();
+    }
+    this.recordDelimiter = recordDelimiter;
+    this.fieldDelimiter = fieldDelimiter;
+    this.quoteCharacter = quoteCharacter;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+
+/**
+ * Usage of first line of CSV object queried by select object content.
+ */
+public enum FileHeaderInfo {
+  /**
+   * First line is header and its column names may be used in the expression.
+   */
+  USE,
+  /**
+   * First line is header which is skipped.
+   */
+  IGNORE,
+  /**
+   * First line is not header.
+   */
+  NONE;
+}
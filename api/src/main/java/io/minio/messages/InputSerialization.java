@@ -0,0 +1,71 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+
+
+/**
+ * Helper class to construct input format of select object content request XML.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class InputSerialization extends XmlEntity {
+  @Key("CompressionType")
+  private String compressionType;
+  @Key("CSV")
+  private CsvSerialization csv;
+  @Key("JSON")
+  private JsonSerialization json;
+
+
+  public InputSerialization() throws XmlPullParserException {
+    super();
+    this.name = "InputSerialization";
+  }
+
+
+  /**
+   * Constructs a new InputSerialization object of CSV object.
+   */
+  public InputSerialization(CompressionType compressionType, FileHeaderInfo fileHeaderInfo, String recordDelimiter,
+                            String fieldDelimiter, String quoteCharacter) throws XmlPullParserException {
+    this();
+
+    setCompressionType(compressionType);
+    this.csv = new CsvSerialization(fileHeaderInfo, recordDelimiter, fieldDelimiter, quoteCharacter);
+  }
+
+
+  /**
+   * Constructs a new InputSerialization object of JSON object.
+   */
+  public InputSerialization(CompressionType compressionType, JsonType jsonType) throws XmlPullParserException {
+    this();
+
+    setCompressionType(compressionType);
+    this.json = new JsonSerialization(jsonType, null);
+  }
+
+
+  private void setCompressionType(CompressionType compressionType) {
+    if (compressionType != null) {
+      this.compressionType = compressionType.toString();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+
+
+/**
+ * Helper class to construct output format of select object content request XML.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class OutputSerialization extends XmlEntity {
+  @Key("CSV")
+  private CsvSerialization csv;
+  @Key("JSON")
+  private JsonSerialization json;
+
+
+  public OutputSerialization() throws XmlPullParserException {
+    super();
+    this.name = "OutputSerialization";
+  }
+
+
+  /**
+   * Returns OutputSerialization object of records in CSV with given delimiters. Null values are not sent.
+   */
+  public static OutputSerialization csv(String recordDelimiter, String fieldDelimiter, String quoteCharacter)
+    throws XmlPullParserException {
+    OutputSerialization serialization = new OutputSerialization();
+    serialization.csv = new CsvSerialization(null, recordDelimiter, fieldDelimiter, quoteCharacter);
+    return serialization;
+  }
+
+
+  /**
+   * Returns OutputSerialization object of records in JSON with given record delimiter. Null value is not sent.
+   */
+  public static OutputSerialization json(String recordDelimiter) throws XmlPullParserException {
+    OutputSerialization serialization = new OutputSerialization();
+    serialization.json = new JsonSerialization(null, recordDelimiter);
+    return serialization;
+  }
+}
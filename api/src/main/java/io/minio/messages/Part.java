@@ -38,6 +38,8 @@ public class Part extends XmlEntity {
   private String lastModified;
   @Key("Size")
   private Long size;
+  @Key("ChecksumCRC32C")
+  private String checksumCrc32c;
 
 
   public Part() throws XmlPullParserException {
@@ -49,11 +51,20 @@ public class Part extends XmlEntity {
    * Constructs a new Part object with given part number and ETag.
    */
   public Part(int partNumber, String etag) throws XmlPullParserException {
+    this(partNumber, etag, null);
+  }
+
+
+  /**
+   * Constructs a new Part object with given part number, ETag and base64 encoded CRC32C checksum.
+   */
+  public Part(int partNumber, String etag, String checksumCrc32c) throws XmlPullParserException {
     super();
     super.name = "Part";
 
     this.partNumber = partNumber;
     this.etag = etag;
+    this.checksumCrc32c = checksumCrc32c;
   }
 
 
@@ -87,4 +98,12 @@ public class Part extends XmlEntity {
   public long partSize() {
     return size;
   }
+
+
+  /**
+   * Returns base64 encoded CRC32C checksum of the part, or null if none.
+   */
+  public String checksumCrc32c() {
+    return checksumCrc32c;
+  }
 }
@@ -0,0 +1,46 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+
+
+/**
+ * Helper class to construct request progress of select object content request XML.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class RequestProgress extends XmlEntity {
+  @Key("Enabled")
+  private boolean enabled;
+
+
+  public RequestProgress() throws XmlPullParserException {
+    this(false);
+  }
+
+
+  /**
+   * Constructs a new RequestProgress object.
+   */
+  public RequestProgress(boolean enabled) throws XmlPullParserException {
+    super();
+    this.name = "RequestProgress";
+    this.enabled = enabled;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+
+
+/**
+ * Helper class to construct select object content request XML for Amazon AWS S3.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "URF_UNREAD_FIELD")
+public class SelectObjectContentRequest extends XmlEntity {
+  @Key("Expression")
+  private String expression;
+  @Key("ExpressionType")
+  private String expressionType = "SQL";
+  @Key("InputSerialization")
+  private InputSerialization inputSerialization;
+  @Key("OutputSerialization")
+  private OutputSerialization outputSerialization;
+  @Key("RequestProgress")
+  private RequestProgress requestProgress;
+
+
+  public SelectObjectContentRequest() throws XmlPullParserException {
+    super();
+    super.name = "SelectObjectContentRequest";
+    super.namespaceDictionary.set("", "http://s3.amazonaws.com/doc/2006-03-01/");
+  }
+
+
+  /**
+   * Constructs a new SelectObjectContentRequest object with given SQL expression, formats and progress option.
+   */
+  public SelectObjectContentRequest(String expression, InputSerialization inputSerialization,
+                                    OutputSerialization outputSerialization, boolean requestProgress)
+    throws XmlPullParserException {
+    this();
+
+    this.expression = expression;
+    this.inputSerialization = inputSerialization;
+    this.outputSerialization = outputSerialization;
+    this.requestProgress = new RequestProgress(requestProgress);
+  }
+}
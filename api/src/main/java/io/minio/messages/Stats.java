@@ -0,0 +1,79 @@
+/*
+ * MinIO Java SDK for Amazon S3 Compatible Cloud Storage, (C) 2019 MinIO, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.minio.messages;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import com.google.api.client.util.Key;
+import com.google.api.client.xml.XmlNamespaceDictionary;
+
+
+/**
+ * Helper class to parse Stats and Progress events of select object content response.
+ */
+public class Stats extends XmlEntity {
+  @Key("BytesScanned")
+  private long bytesScanned = -1;
+  @Key("BytesProcessed")
+  private long bytesProcessed = -1;
+  @Key("BytesReturned")
+  private long bytesReturned = -1;
+
+
+  public Stats() throws XmlPullParserException {
+    super();
+    this.name = "Stats";
+  }
+
+
+  /**
+   * Returns number of object bytes scanned.
+   */
+  public long bytesScanned() {
+    return bytesScanned;
+  }
+
+
+  /**
+   * Returns number of uncompressed object bytes processed.
+   */
+  public long bytesProcessed() {
+    return bytesProcessed;
+  }
+
+
+  /**
+   * Returns number of bytes of records returned.
+   */
+  public long bytesReturned() {
+    return bytesReturned;
+  }
+
+
+  /**
+   * Fills up this Stats object's fields by reading/parsing values from given Reader input stream.
+   */
+  @Override
+  public void parseXml(Reader reader) throws IOException, XmlPullParserException {
+    XmlNamespaceDictionary namespaceDictionary = new XmlNamespaceDictionary();
+    namespaceDictionary.set("", "");
+    super.parseXml(reader, namespaceDictionary);
+  }
+}